@@ -0,0 +1,23 @@
+package com.example.memorygame.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Startet alle Benchmarks mit dem GC-Profiler, damit neben der Laufzeit
+ * auch {@code gc.alloc.rate.norm} (Bytes pro Operation) ausgegeben wird.
+ * Optionales erstes Argument: Regex zur Auswahl der Benchmarks.
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(args.length > 0 ? args[0] : "com.example.memorygame.benchmarks.*")
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
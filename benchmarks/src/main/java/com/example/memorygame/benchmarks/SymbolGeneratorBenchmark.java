@@ -0,0 +1,26 @@
+package com.example.memorygame.benchmarks;
+
+import com.example.memorygame.SymbolGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Misst die Symbolauswahl für ein Spielfeld.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SymbolGeneratorBenchmark {
+
+    @Param({"4", "6", "8", "16", "64"})
+    public int gridSize;
+
+    @Benchmark
+    public String[] generateSymbols() {
+        return SymbolGenerator.generateSymbols(gridSize * gridSize / 2);
+    }
+}
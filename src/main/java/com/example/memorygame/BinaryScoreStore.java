@@ -0,0 +1,395 @@
+package com.example.memorygame;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Binäres Highscore-Archiv für sehr große Bestenlisten, gelesen über einen {@link MappedByteBuffer}.
+ * <p>
+ * Aufbau der Datei (Big Endian):
+ * <pre>
+ * Kopf       magic "MGHS", version, sectionCount, recordCount, stringTableOffset
+ * Abschnitte pro Schwierigkeitsgrad: nameOffset, firstRecord, recordCount (je 16 Byte)
+ * Datensätze je 32 Byte: timeInMillis, attempts, nameOffset, sequence, id
+ * Strings    dedupliziert, je Länge (u16) + UTF-8
+ * </pre>
+ * Die ID ist dieselbe wie in {@code highscores.txt}, sodass Import und Export
+ * verlustfrei sind und der {@link HighscoreManager} bekannte Scores erkennt.
+ * Dateien der Version 1 (24 Byte ohne ID) werden weiter gelesen; ihre ID wird
+ * wie beim Laden einer Zeile ohne ID aus der früher exportierten Zeile berechnet.
+ * Die Datensätze eines Abschnitts sind nach Zeit, Versuchen und Reihenfolge
+ * sortiert. Platz {@code n} liegt damit an fester Position, und der Rang einer
+ * Zeit wird per binärer Suche bestimmt, ohne die Datei zu parsen.
+ * <p>
+ * Das Spiel selbst nutzt die Klasse nicht: {@link HighscoreManager} hält nur die
+ * besten K Einträge pro Schwierigkeitsgrad, und das Kompaktieren kürzt
+ * {@code highscores.txt} auf diese. Gedacht ist sie für Archive, die außerhalb
+ * des Spiels wachsen, etwa zusammengeführte Exporte mehrerer Kiosk-Geräte;
+ * {@link #main} importiert und exportiert dazu das Textformat von {@code highscores.txt}.
+ */
+public class BinaryScoreStore implements Closeable {
+
+    private static final int MAGIC = 0x4D474853; // "MGHS"
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 28;
+    private static final int SECTION_SIZE = 16;
+    static final int RECORD_SIZE = 32;
+    private static final int RECORD_SIZE_V1 = 24;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int version;
+    private final int recordSize;
+    private final int recordsStart;
+    private final int stringTableOffset;
+    private final String[] difficulties;
+    private final int[] firstRecord;
+    private final int[] recordCount;
+
+    /**
+     * Ein Highscore-Datensatz.
+     */
+    public static class Row {
+        private final String playerName;
+        private final String difficulty;
+        private final long timeInMillis;
+        private final int attempts;
+        private final long sequence;
+        private final long id;
+
+        /**
+         * Konstruktor.
+         */
+        public Row(String playerName, String difficulty, long timeInMillis, int attempts, long sequence, long id) {
+            this.playerName = playerName;
+            this.difficulty = difficulty;
+            this.timeInMillis = timeInMillis;
+            this.attempts = attempts;
+            this.sequence = sequence;
+            this.id = id;
+        }
+
+        // Getters
+        public String getPlayerName() { return playerName; }
+        public String getDifficulty() { return difficulty; }
+        public long getTimeInMillis() { return timeInMillis; }
+        public int getAttempts() { return attempts; }
+        public long getSequence() { return sequence; }
+        public long getId() { return id; }
+    }
+
+    private BinaryScoreStore(FileChannel channel) throws IOException {
+        this.channel = channel;
+        long size = channel.size();
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Score store larger than 2 GB is not supported");
+        }
+        this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+        if (size < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a score store file");
+        }
+        this.version = buffer.getInt(4);
+        if (version != 1 && version != VERSION) {
+            throw new IOException("Unsupported score store version: " + version);
+        }
+        this.recordSize = version == 1 ? RECORD_SIZE_V1 : RECORD_SIZE;
+        int sectionCount = buffer.getInt(8);
+        this.stringTableOffset = (int) buffer.getLong(20);
+        this.recordsStart = HEADER_SIZE + sectionCount * SECTION_SIZE;
+
+        this.difficulties = new String[sectionCount];
+        this.firstRecord = new int[sectionCount];
+        this.recordCount = new int[sectionCount];
+        for (int i = 0; i < sectionCount; i++) {
+            int pos = HEADER_SIZE + i * SECTION_SIZE;
+            difficulties[i] = stringAt(buffer.getInt(pos));
+            firstRecord[i] = (int) buffer.getLong(pos + 4);
+            recordCount[i] = buffer.getInt(pos + 12);
+        }
+    }
+
+    /**
+     * Öffnet eine Archivdatei zum Lesen.
+     * @param file Pfad
+     * @return Geöffnetes Archiv
+     * @throws IOException Wenn die Datei fehlt oder kein Archiv ist
+     */
+    public static BinaryScoreStore open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return new BinaryScoreStore(channel);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Gibt die enthaltenen Schwierigkeitsgrade zurück.
+     * @return Schwierigkeitsgrade
+     */
+    public List<String> getDifficulties() {
+        return List.of(difficulties);
+    }
+
+    /**
+     * Gibt die Anzahl Einträge eines Schwierigkeitsgrads zurück.
+     * @param difficulty Schwierigkeitsgrad
+     * @return Anzahl, 0 wenn unbekannt
+     */
+    public int count(String difficulty) {
+        int section = section(difficulty);
+        return section < 0 ? 0 : recordCount[section];
+    }
+
+    /**
+     * Gibt den Eintrag auf einem Platz zurück, ohne andere Einträge zu lesen.
+     * @param difficulty Schwierigkeitsgrad
+     * @param rank Platz, 0 ist der beste
+     * @return Eintrag
+     */
+    public Row get(String difficulty, int rank) {
+        int section = section(difficulty);
+        if (section < 0 || rank < 0 || rank >= recordCount[section]) {
+            throw new IndexOutOfBoundsException("No rank " + rank + " for " + difficulty);
+        }
+        int pos = recordPosition(section, rank);
+        String playerName = stringAt(buffer.getInt(pos + 12));
+        long timeInMillis = buffer.getLong(pos);
+        int attempts = buffer.getInt(pos + 8);
+        long id = version == 1
+                ? HighscoreManager.hash(playerName + "," + difficulty + "," + timeInMillis / 1000L + ","
+                        + attempts + "," + timeInMillis)
+                : buffer.getLong(pos + 24);
+        return new Row(playerName, difficulty, timeInMillis, attempts, buffer.getLong(pos + 16), id);
+    }
+
+    /**
+     * Bestimmt per binärer Suche, wie viele Einträge besser sind als das angegebene Ergebnis.
+     * Bei gleicher Zeit und gleichen Versuchen zählt der vorhandene Eintrag als besser.
+     * @param difficulty Schwierigkeitsgrad
+     * @param timeInMillis Zeit in Millisekunden
+     * @param attempts Versuche
+     * @return Platz (0-basiert), den das Ergebnis einnehmen würde
+     */
+    public int rankOf(String difficulty, long timeInMillis, int attempts) {
+        int section = section(difficulty);
+        if (section < 0) {
+            return 0;
+        }
+        int low = 0;
+        int high = recordCount[section];
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int pos = recordPosition(section, mid);
+            long time = buffer.getLong(pos);
+            int cmp = time != timeInMillis ? Long.compare(time, timeInMillis)
+                    : Integer.compare(buffer.getInt(pos + 8), attempts);
+            if (cmp <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int section(String difficulty) {
+        for (int i = 0; i < difficulties.length; i++) {
+            if (difficulties[i].equals(difficulty)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int recordPosition(int section, int rank) {
+        return recordsStart + (firstRecord[section] + rank) * recordSize;
+    }
+
+    private String stringAt(int offset) {
+        int pos = stringTableOffset + offset;
+        int length = buffer.getShort(pos) & 0xFFFF;
+        byte[] bytes = new byte[length];
+        buffer.get(pos + 2, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Schreibt ein Archiv. Die Datei wird über eine temporäre Datei atomar ersetzt.
+     * @param file Zieldatei
+     * @param rows Einträge in beliebiger Reihenfolge
+     * @throws IOException Bei Schreibfehlern
+     */
+    public static void write(Path file, Collection<Row> rows) throws IOException {
+        Map<String, List<Row>> sections = new TreeMap<>();
+        for (Row row : rows) {
+            sections.computeIfAbsent(row.getDifficulty(), k -> new ArrayList<>()).add(row);
+        }
+        Comparator<Row> order = Comparator.comparingLong(Row::getTimeInMillis)
+                .thenComparingInt(Row::getAttempts)
+                .thenComparingLong(Row::getSequence);
+
+        // Deduplizierte String-Tabelle
+        Map<String, Integer> stringOffsets = new HashMap<>();
+        ByteArrayOutputStream strings = new ByteArrayOutputStream();
+        for (Map.Entry<String, List<Row>> section : sections.entrySet()) {
+            internString(section.getKey(), stringOffsets, strings);
+            section.getValue().sort(order);
+            for (Row row : section.getValue()) {
+                internString(row.getPlayerName(), stringOffsets, strings);
+            }
+        }
+
+        long recordsStart = HEADER_SIZE + (long) sections.size() * SECTION_SIZE;
+        long stringTableOffset = recordsStart + (long) rows.size() * RECORD_SIZE;
+        if (stringTableOffset + strings.size() > Integer.MAX_VALUE) {
+            throw new IOException("Score store larger than 2 GB is not supported");
+        }
+
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer head = ByteBuffer.allocate((int) recordsStart);
+            head.putInt(MAGIC).putInt(VERSION).putInt(sections.size())
+                    .putLong(rows.size()).putLong(stringTableOffset);
+            long first = 0;
+            for (Map.Entry<String, List<Row>> section : sections.entrySet()) {
+                head.putInt(stringOffsets.get(section.getKey()))
+                        .putLong(first)
+                        .putInt(section.getValue().size());
+                first += section.getValue().size();
+            }
+            head.flip();
+            writeFully(out, head);
+
+            ByteBuffer records = ByteBuffer.allocate(RECORD_SIZE * 4096);
+            for (List<Row> section : sections.values()) {
+                for (Row row : section) {
+                    if (!records.hasRemaining()) {
+                        records.flip();
+                        writeFully(out, records);
+                        records.clear();
+                    }
+                    records.putLong(row.getTimeInMillis())
+                            .putInt(row.getAttempts())
+                            .putInt(stringOffsets.get(row.getPlayerName()))
+                            .putLong(row.getSequence())
+                            .putLong(row.getId());
+                }
+            }
+            records.flip();
+            writeFully(out, records);
+            writeFully(out, ByteBuffer.wrap(strings.toByteArray()));
+            out.force(true);
+        }
+        Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static void internString(String value, Map<String, Integer> offsets, ByteArrayOutputStream strings) {
+        if (offsets.containsKey(value)) {
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("Name too long: " + value.substring(0, 32) + "...");
+        }
+        offsets.put(value, strings.size());
+        strings.write(bytes.length >>> 8);
+        strings.write(bytes.length);
+        strings.writeBytes(bytes);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Liest Einträge im Textformat von {@code highscores.txt}
+     * ({@code name,difficulty,seconds,attempts[,millis[,id]]}), genau wie der {@link HighscoreManager}:
+     * Zeilen ohne ID erhalten dieselbe aus ihrem Inhalt, Kommentar- und beschädigte Zeilen
+     * werden übersprungen.
+     * @param csv Textdatei
+     * @return Einträge in Dateireihenfolge
+     * @throws IOException Bei Lesefehlern
+     */
+    public static List<Row> readCsv(Path csv) throws IOException {
+        List<Row> rows = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(csv, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                HighscoreManager.HighscoreEntry entry = HighscoreManager.parseEntry(line, rows.size());
+                if (entry != null) {
+                    rows.add(new Row(entry.getPlayerName(), entry.getDifficulty(), entry.getTimeInMillis(),
+                            entry.getAttempts(), rows.size(), entry.getId()));
+                }
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Schreibt alle Einträge im Textformat von {@code highscores.txt}.
+     * @param writer Ziel
+     * @throws IOException Bei Schreibfehlern
+     */
+    public void exportCsv(Writer writer) throws IOException {
+        for (int section = 0; section < difficulties.length; section++) {
+            for (int rank = 0; rank < recordCount[section]; rank++) {
+                Row row = get(difficulties[section], rank);
+                writer.write(row.getPlayerName() + "," +
+                        row.getDifficulty() + "," +
+                        row.getTimeInMillis() / 1000L + "," +
+                        row.getAttempts() + "," +
+                        row.getTimeInMillis() + "," +
+                        row.getId() + "\n");
+            }
+        }
+    }
+
+    /**
+     * Kommandozeilenwerkzeug.
+     * <pre>
+     * import &lt;highscores.txt&gt; &lt;highscores.bin&gt;
+     * export &lt;highscores.bin&gt; &lt;highscores.txt&gt;
+     * rank   &lt;highscores.bin&gt; &lt;difficulty&gt; &lt;millis&gt; &lt;attempts&gt;
+     * </pre>
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 3 && args[0].equals("import")) {
+            List<Row> rows = readCsv(Path.of(args[1]));
+            write(Path.of(args[2]), rows);
+            System.out.println("Imported " + rows.size() + " scores into " + args[2]);
+        } else if (args.length == 3 && args[0].equals("export")) {
+            try (BinaryScoreStore store = open(Path.of(args[1]));
+                 Writer writer = Files.newBufferedWriter(Path.of(args[2]), StandardCharsets.UTF_8)) {
+                store.exportCsv(writer);
+            }
+        } else if (args.length == 5 && args[0].equals("rank")) {
+            try (BinaryScoreStore store = open(Path.of(args[1]))) {
+                int rank = store.rankOf(args[2], Long.parseLong(args[3]), Integer.parseInt(args[4]));
+                System.out.println("Rank " + (rank + 1) + " of " + (store.count(args[2]) + 1));
+            }
+        } else {
+            System.err.println("Usage: BinaryScoreStore import <csv> <bin> | export <bin> <csv>"
+                    + " | rank <bin> <difficulty> <millis> <attempts>");
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.memorygame;
+
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Erzeugt reproduzierbare Spielfelder aus einem 64-Bit-Seed.
+ * <p>
+ * Ein Spielfeld ist vollständig durch Seed und Feldgröße bestimmt. Die
+ * Startseite nutzt das für die Tagesaufgabe und zum Nachspielen eines
+ * geteilten Codes. Viele Felder parallel erzeugt der
+ * {@link com.example.memorygame.simulation.GameSimulator} mit abgespaltenen
+ * {@link SplittableRandom}s.
+ */
+public final class BoardGenerator {
+
+    private static final long GRID_SALT = 0x9E3779B97F4A7C15L;
+    private static final long DAILY_SALT = 0xD1B54A32D192ED03L;
+
+    private BoardGenerator() {
+    }
+
+    /**
+     * Liefert einen zufälligen Seed für ein normales Spiel.
+     * @return Seed
+     */
+    public static long randomSeed() {
+        return ThreadLocalRandom.current().nextLong();
+    }
+
+    /**
+     * Liefert den Seed der Tagesaufgabe; alle Spieler erhalten am selben Tag dasselbe Feld.
+     * @param date Datum
+     * @return Seed
+     */
+    public static long dailySeed(LocalDate date) {
+        return new SplittableRandom(date.toEpochDay() ^ DAILY_SALT).nextLong();
+    }
+
+    /**
+     * Erzeugt die Zufallsquelle, aus der ein Spielfeld aufgebaut wird.
+     * Die Feldgröße fließt mit ein, damit ein Seed auf jeder Größe ein anderes Feld ergibt.
+     * @param seed Seed des Spielfelds
+     * @param settings Spieleinstellungen
+     * @return Zufallsquelle
+     */
+    public static SplittableRandom boardRandom(long seed, GameSettings settings) {
+        return new SplittableRandom(seed ^ (settings.getGridSize() * GRID_SALT));
+    }
+
+    /**
+     * Erzeugt einen kurzen Code zum Teilen eines Spielfelds, z.B. {@code Schwer-3w5e11264sgsg}.
+     * @param difficulty Schwierigkeitsgrad
+     * @param seed Seed des Spielfelds
+     * @return Code
+     */
+    public static String toShareCode(String difficulty, long seed) {
+        return difficulty + "-" + Long.toUnsignedString(seed, 36);
+    }
+
+    /**
+     * Liest den Schwierigkeitsgrad aus einem Code.
+     * @param code Code aus {@link #toShareCode}
+     * @return Schwierigkeitsgrad
+     */
+    public static String difficultyFromShareCode(String code) {
+        return code.substring(0, separatorIndex(code));
+    }
+
+    /**
+     * Liest den Seed aus einem Code.
+     * @param code Code aus {@link #toShareCode}
+     * @return Seed
+     */
+    public static long seedFromShareCode(String code) {
+        return Long.parseUnsignedLong(code.substring(separatorIndex(code) + 1), 36);
+    }
+
+    private static int separatorIndex(String code) {
+        int index = code.lastIndexOf('-');
+        if (index <= 0 || index == code.length() - 1) {
+            throw new IllegalArgumentException("Invalid board code: " + code);
+        }
+        return index;
+    }
+}
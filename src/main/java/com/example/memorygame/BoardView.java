@@ -0,0 +1,59 @@
+package com.example.memorygame;
+
+import javafx.scene.Node;
+
+/**
+ * Gemeinsame Schnittstelle der Spielfeld-Darstellungen.
+ */
+public interface BoardView {
+
+    /**
+     * Gibt den Knoten zurück, der das Spielfeld darstellt.
+     * @return Knoten für den Szenengraphen
+     */
+    Node getNode();
+
+    /**
+     * Stellt das Spielfeld auf eine neue Größe um und setzt es zurück.
+     * @param gridSize Größe des Spielfelds
+     * @param cellSize Größe eines Feldes in Pixeln
+     */
+    void configure(int gridSize, double cellSize);
+
+    /**
+     * Setzt das Spielfeld zurück.
+     */
+    void reset();
+
+    /**
+     * Zeigt das Symbol eines Feldes an.
+     * @param row Zeile
+     * @param col Spalte
+     * @param symbol Symbol
+     */
+    void revealButton(int row, int col, String symbol);
+
+    /**
+     * Versteckt das Symbol eines Feldes.
+     * @param row Zeile
+     * @param col Spalte
+     */
+    void hideButton(int row, int col);
+
+    /**
+     * Markiert ein Feld als gefunden.
+     * @param row Zeile
+     * @param col Spalte
+     */
+    void markAsFound(int row, int col);
+
+    /**
+     * Sperrt das ganze Spielfeld für Eingaben, ohne einzelne Felder anzufassen.
+     */
+    void lockBoard();
+
+    /**
+     * Gibt das Spielfeld wieder frei. Gefundene Felder bleiben gesperrt.
+     */
+    void unlockBoard();
+}
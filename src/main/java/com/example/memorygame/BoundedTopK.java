@@ -0,0 +1,129 @@
+package com.example.memorygame;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+/**
+ * Hält die besten {@code capacity} Elemente nach einem Comparator.
+ * <p>
+ * Einfügen kostet O(log K). Ist die Liste voll, wird ein Element, das nicht
+ * besser als das bisher schlechteste ist, in O(1) abgewiesen. Der Comparator
+ * muss eine totale Ordnung liefern (gleiche Elemente werden sonst verworfen).
+ * <p>
+ * Die Elemente liegen in einem {@link OrderStatisticTree}, daher sind auch
+ * Platz-Abfragen ({@link #rankOf}, {@link #get}) in O(log K) möglich.
+ * @param <E> Elementtyp
+ */
+public class BoundedTopK<E> implements Iterable<E> {
+
+    private final int capacity;
+    private final Comparator<? super E> comparator;
+    private final OrderStatisticTree<E> entries;
+    private final Consumer<? super E> evictionListener;
+    private E worst;
+
+    /**
+     * Konstruktor.
+     * @param capacity Maximale Anzahl Elemente
+     * @param comparator Ordnung, kleinere Elemente sind besser
+     */
+    public BoundedTopK(int capacity, Comparator<? super E> comparator) {
+        this(capacity, comparator, element -> { });
+    }
+
+    /**
+     * Konstruktor.
+     * @param capacity Maximale Anzahl Elemente
+     * @param comparator Ordnung, kleinere Elemente sind besser
+     * @param evictionListener Wird mit jedem Element aufgerufen, das aus der Liste fällt
+     */
+    public BoundedTopK(int capacity, Comparator<? super E> comparator, Consumer<? super E> evictionListener) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.comparator = comparator;
+        this.entries = new OrderStatisticTree<>(comparator);
+        this.evictionListener = evictionListener;
+    }
+
+    /**
+     * Fügt ein Element ein, falls es zu den besten gehört.
+     * @param element Element
+     * @return true, wenn das Element aufgenommen wurde
+     */
+    public boolean offer(E element) {
+        if (entries.size() >= capacity && comparator.compare(element, worst) >= 0) {
+            return false;
+        }
+        if (!entries.add(element)) {
+            return false;
+        }
+        if (entries.size() > capacity) {
+            evictionListener.accept(entries.pollLast());
+        }
+        worst = entries.last();
+        return true;
+    }
+
+    /**
+     * Gibt zurück, ob ein Element mit diesem Wert aufgenommen würde.
+     * @param element Element
+     * @return true, wenn es zu den besten gehören würde
+     */
+    public boolean qualifies(E element) {
+        return entries.size() < capacity || comparator.compare(element, worst) < 0;
+    }
+
+    /**
+     * Entfernt alle Elemente.
+     */
+    public void clear() {
+        entries.clear();
+        worst = null;
+    }
+
+    /**
+     * Gibt zurück, wie viele Elemente besser als {@code probe} sind.
+     * @param probe Vergleichswert, muss nicht enthalten sein
+     * @return Platz (0-basiert)
+     */
+    public int rankOf(E probe) {
+        return entries.rankOf(probe);
+    }
+
+    /**
+     * Gibt das Element auf einem Platz zurück.
+     * @param rank Platz, 0 ist das beste
+     * @return Element
+     */
+    public E get(int rank) {
+        return entries.get(rank);
+    }
+
+    /**
+     * Iteriert ab einem Platz zum schlechtesten Element.
+     * @param fromRank Startplatz
+     * @return Iterator
+     */
+    public Iterator<E> iterator(int fromRank) {
+        return entries.iterator(fromRank);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Iteriert vom besten zum schlechtesten Element.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return entries.iterator();
+    }
+}
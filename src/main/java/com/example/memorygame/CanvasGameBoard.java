@@ -0,0 +1,287 @@
+package com.example.memorygame;
+
+import javafx.geometry.VPos;
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+
+import java.util.Arrays;
+
+/**
+ * Zeichnet das Spielfeld auf ein einzelnes {@link Canvas} statt einen Button pro Feld anzulegen.
+ * <p>
+ * Die Leinwand ist nur so groß wie der sichtbare Bereich. Gezeichnet werden
+ * nur sichtbare Felder; Zustandswechsel zeichnen nur das betroffene Feld neu.
+ * Mausrad verschiebt die Ansicht, Strg+Mausrad zoomt, Ziehen mit der Maus verschiebt ebenfalls.
+ */
+public final class CanvasGameBoard implements BoardView {
+
+    private static final byte HIDDEN = 0;
+    private static final byte REVEALED = 1;
+    private static final byte FOUND = 2;
+
+    private static final Color BACKGROUND = Color.web("#2b2b2b");
+    private static final Color HIDDEN_FILL = Color.web("#4a4a4a");
+    private static final Color REVEALED_FILL = Color.web("#6a6a6a");
+    private static final Color FOUND_FILL = Color.web("#2d5a3d");
+    private static final Color FOUND_TEXT = Color.web("#90ee90");
+
+    private static final double MIN_ZOOM = 0.1;
+    private static final double MAX_ZOOM = 4.0;
+
+    private int gridSize;
+    private double cellSize;
+    private double gap;
+    private final GameBoard.ButtonClickHandler clickHandler;
+
+    private byte[] states = new byte[0];
+    private String[] texts = new String[0];
+    private boolean inputEnabled = true;
+
+    private final Canvas canvas = new Canvas();
+    private final Pane viewport;
+    private double zoom = 1.0;
+    private double offsetX;
+    private double offsetY;
+    private double dragX;
+    private double dragY;
+    private Font font;
+
+    /**
+     * Konstruktor.
+     * @param gridSize Größe des Spielfelds
+     * @param cellSize Größe eines Feldes in Pixeln (bei Zoom 1)
+     * @param clickHandler Handler für Klicks
+     */
+    public CanvasGameBoard(int gridSize, double cellSize, GameBoard.ButtonClickHandler clickHandler) {
+        this.clickHandler = clickHandler;
+
+        viewport = new Pane(canvas) {
+            @Override
+            protected void layoutChildren() {
+                if (canvas.getWidth() != getWidth() || canvas.getHeight() != getHeight()) {
+                    canvas.setWidth(getWidth());
+                    canvas.setHeight(getHeight());
+                    clampOffsets();
+                    redrawAll();
+                }
+            }
+        };
+        viewport.setMinSize(0, 0);
+        Rectangle clip = new Rectangle();
+        clip.widthProperty().bind(viewport.widthProperty());
+        clip.heightProperty().bind(viewport.heightProperty());
+        viewport.setClip(clip);
+
+        canvas.addEventHandler(MouseEvent.MOUSE_PRESSED, this::onMousePressed);
+        canvas.addEventHandler(MouseEvent.MOUSE_DRAGGED, this::onMouseDragged);
+        canvas.addEventHandler(MouseEvent.MOUSE_CLICKED, this::onMouseClicked);
+        canvas.addEventHandler(ScrollEvent.SCROLL, this::onScroll);
+        configure(gridSize, cellSize);
+    }
+
+    @Override
+    public void configure(int gridSize, double cellSize) {
+        this.gridSize = gridSize;
+        this.cellSize = cellSize;
+        this.gap = Math.max(2, cellSize / 8);
+        int cellCount = gridSize * gridSize;
+        if (states.length < cellCount) {
+            states = new byte[cellCount];
+            texts = new String[cellCount];
+        }
+        zoom = 1.0;
+        offsetX = 0;
+        offsetY = 0;
+        updateFont();
+        clampOffsets();
+        reset();
+    }
+
+    @Override
+    public Node getNode() {
+        return viewport;
+    }
+
+    @Override
+    public void reset() {
+        Arrays.fill(states, HIDDEN);
+        Arrays.fill(texts, null);
+        inputEnabled = true;
+        redrawAll();
+    }
+
+    @Override
+    public void revealButton(int row, int col, String symbol) {
+        int index = row * gridSize + col;
+        states[index] = REVEALED;
+        texts[index] = symbol;
+        drawCell(row, col);
+    }
+
+    @Override
+    public void hideButton(int row, int col) {
+        states[row * gridSize + col] = HIDDEN;
+        drawCell(row, col);
+    }
+
+    @Override
+    public void markAsFound(int row, int col) {
+        states[row * gridSize + col] = FOUND;
+        drawCell(row, col);
+    }
+
+    @Override
+    public void lockBoard() {
+        inputEnabled = false;
+    }
+
+    @Override
+    public void unlockBoard() {
+        inputEnabled = true;
+    }
+
+    /**
+     * Rechnet eine Mausposition in ein Feld um.
+     * @param x X-Koordinate auf der Leinwand
+     * @param y Y-Koordinate auf der Leinwand
+     * @return Feldindex ({@code row * gridSize + col}) oder -1 bei Lücke/außerhalb
+     */
+    public int cellAt(double x, double y) {
+        double pitch = (cellSize + gap) * zoom;
+        double contentX = x + offsetX;
+        double contentY = y + offsetY;
+        int col = (int) Math.floor(contentX / pitch);
+        int row = (int) Math.floor(contentY / pitch);
+        if (row < 0 || col < 0 || row >= gridSize || col >= gridSize) {
+            return -1;
+        }
+        double cell = cellSize * zoom;
+        if (contentX - col * pitch > cell || contentY - row * pitch > cell) {
+            return -1;
+        }
+        return row * gridSize + col;
+    }
+
+    private void onMousePressed(MouseEvent event) {
+        dragX = event.getX();
+        dragY = event.getY();
+    }
+
+    private void onMouseDragged(MouseEvent event) {
+        offsetX -= event.getX() - dragX;
+        offsetY -= event.getY() - dragY;
+        dragX = event.getX();
+        dragY = event.getY();
+        clampOffsets();
+        redrawAll();
+    }
+
+    private void onMouseClicked(MouseEvent event) {
+        if (event.getButton() != MouseButton.PRIMARY || !event.isStillSincePress() || !inputEnabled) {
+            return;
+        }
+        int index = cellAt(event.getX(), event.getY());
+        if (index >= 0 && states[index] != FOUND) {
+            clickHandler.onClick(index / gridSize, index % gridSize);
+        }
+    }
+
+    private void onScroll(ScrollEvent event) {
+        if (event.isControlDown()) {
+            double factor = event.getDeltaY() > 0 ? 1.1 : 1 / 1.1;
+            double newZoom = Math.max(MIN_ZOOM, Math.min(MAX_ZOOM, zoom * factor));
+            // Punkt unter dem Mauszeiger bleibt beim Zoomen stehen
+            offsetX = (offsetX + event.getX()) * newZoom / zoom - event.getX();
+            offsetY = (offsetY + event.getY()) * newZoom / zoom - event.getY();
+            zoom = newZoom;
+            updateFont();
+        } else {
+            offsetX -= event.getDeltaX();
+            offsetY -= event.getDeltaY();
+        }
+        clampOffsets();
+        redrawAll();
+        event.consume();
+    }
+
+    private void clampOffsets() {
+        double content = gridSize * (cellSize + gap) * zoom - gap * zoom;
+        offsetX = clamp(offsetX, content, canvas.getWidth());
+        offsetY = clamp(offsetY, content, canvas.getHeight());
+    }
+
+    private static double clamp(double offset, double content, double visible) {
+        if (content <= visible) {
+            // Kleiner als der sichtbare Bereich: zentrieren
+            return -(visible - content) / 2;
+        }
+        return Math.max(0, Math.min(offset, content - visible));
+    }
+
+    private void updateFont() {
+        font = Font.font(Math.max(6, cellSize * zoom * 0.4));
+    }
+
+    /**
+     * Zeichnet alle sichtbaren Felder neu.
+     */
+    private void redrawAll() {
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.setFill(BACKGROUND);
+        gc.fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
+
+        double pitch = (cellSize + gap) * zoom;
+        int firstCol = Math.max(0, (int) Math.floor(offsetX / pitch));
+        int firstRow = Math.max(0, (int) Math.floor(offsetY / pitch));
+        int lastCol = Math.min(gridSize - 1, (int) Math.floor((offsetX + canvas.getWidth()) / pitch));
+        int lastRow = Math.min(gridSize - 1, (int) Math.floor((offsetY + canvas.getHeight()) / pitch));
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int col = firstCol; col <= lastCol; col++) {
+                paintCell(gc, row, col);
+            }
+        }
+    }
+
+    /**
+     * Zeichnet ein einzelnes Feld neu, falls es sichtbar ist.
+     */
+    private void drawCell(int row, int col) {
+        double pitch = (cellSize + gap) * zoom;
+        double x = col * pitch - offsetX;
+        double y = row * pitch - offsetY;
+        double size = cellSize * zoom;
+        if (x + size < 0 || y + size < 0 || x > canvas.getWidth() || y > canvas.getHeight()) {
+            return;
+        }
+        paintCell(canvas.getGraphicsContext2D(), row, col);
+    }
+
+    private void paintCell(GraphicsContext gc, int row, int col) {
+        int index = row * gridSize + col;
+        double pitch = (cellSize + gap) * zoom;
+        double x = col * pitch - offsetX;
+        double y = row * pitch - offsetY;
+        double size = cellSize * zoom;
+
+        byte state = states[index];
+        gc.setFill(state == FOUND ? FOUND_FILL : state == REVEALED ? REVEALED_FILL : HIDDEN_FILL);
+        gc.fillRoundRect(x, y, size, size, 6 * zoom, 6 * zoom);
+
+        if (state != HIDDEN && texts[index] != null) {
+            gc.setFill(state == FOUND ? FOUND_TEXT : Color.WHITE);
+            gc.setFont(font);
+            gc.setTextAlign(TextAlignment.CENTER);
+            gc.setTextBaseline(VPos.CENTER);
+            gc.fillText(texts[index], x + size / 2, y + size / 2, size);
+        }
+    }
+}
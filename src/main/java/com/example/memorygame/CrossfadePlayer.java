@@ -0,0 +1,219 @@
+package com.example.memorygame;
+
+import javafx.animation.KeyFrame;
+import javafx.animation.KeyValue;
+import javafx.animation.Timeline;
+import javafx.beans.value.ChangeListener;
+import javafx.scene.media.Media;
+import javafx.scene.media.MediaPlayer;
+import javafx.util.Duration;
+
+import java.io.File;
+
+/**
+ * Abspielkette aus zwei {@link MediaPlayer}n mit Überblendung.
+ * <p>
+ * Der nächste Titel wird mit {@link #preload} vorab geöffnet und dekodiert,
+ * sodass der Wechsel sofort hörbar ist. Kurz vor dem Ende des laufenden Titels
+ * meldet {@link #setOnTrackEnding} den Wechsel; {@link #play} blendet dann per
+ * {@link Timeline} vom alten zum neuen Player über. Jeder Player, der nicht
+ * mehr gebraucht wird, wird sofort freigegeben ({@code dispose()}), auch wenn
+ * eine Überblendung abgebrochen wird. Es existieren also höchstens drei
+ * Player gleichzeitig: ausblendend, laufend und vorgeladen.
+ * <p>
+ * Nur auf dem FX-Thread verwenden.
+ */
+public class CrossfadePlayer {
+
+    /** Überblendung beim automatischen Wechsel am Titelende. */
+    public static final Duration TRACK_FADE = Duration.seconds(3);
+    /** Überblendung beim Wechsel per Hand. */
+    public static final Duration SKIP_FADE = Duration.millis(300);
+
+    private MediaPlayer current;
+    private String currentPath;
+    private MediaPlayer preloaded;
+    private String preloadedPath;
+    private MediaPlayer fadingOut;
+    private Timeline fade;
+    private double volume = 0.5;
+    private Runnable onTrackEnding;
+    private boolean endingReported;
+
+    // Meldet einmal pro Titel, sobald die Restzeit unter die Überblendzeit fällt
+    private final ChangeListener<Duration> endWatcher = (obs, oldTime, time) -> {
+        Duration total = current == null ? Duration.UNKNOWN : current.getTotalDuration();
+        if (!endingReported && total != null && !total.isUnknown() && !total.isIndefinite()
+                && total.subtract(time).lessThanOrEqualTo(TRACK_FADE)) {
+            reportEnding();
+        }
+    };
+
+    /**
+     * Setzt die Aktion, die kurz vor dem Ende des laufenden Titels ausgeführt wird.
+     * Ist die Dauer unbekannt, wird sie erst am Ende ausgeführt.
+     * @param onTrackEnding Aktion, typischerweise {@link #play} mit dem nächsten Titel
+     */
+    public void setOnTrackEnding(Runnable onTrackEnding) {
+        this.onTrackEnding = onTrackEnding;
+    }
+
+    /**
+     * Öffnet einen Titel vorab, damit {@link #play} ihn ohne Wartezeit starten kann.
+     * Ein vorher vorgeladener anderer Titel wird freigegeben.
+     * @param path Pfad der Musikdatei
+     */
+    public void preload(String path) {
+        // Der laufende Titel kann nicht zugleich vorgeladen sein (z.B. Playlist mit einem Song)
+        if (path.equals(preloadedPath) || path.equals(currentPath)) {
+            return;
+        }
+        release(preloaded);
+        preloaded = open(path);
+        preloadedPath = preloaded == null ? null : path;
+    }
+
+    /**
+     * Spielt einen Titel ab und blendet vom laufenden über.
+     * @param path Pfad der Musikdatei
+     * @param fadeDuration Dauer der Überblendung
+     * @throws RuntimeException Wenn die Datei nicht geöffnet werden kann
+     */
+    public void play(String path, Duration fadeDuration) {
+        MediaPlayer next;
+        if (path.equals(preloadedPath)) {
+            next = preloaded;
+            preloaded = null;
+            preloadedPath = null;
+        } else {
+            next = createPlayer(path);
+        }
+        finishFade();
+
+        MediaPlayer previous = current;
+        if (previous != null) {
+            previous.currentTimeProperty().removeListener(endWatcher);
+            previous.setOnEndOfMedia(null);
+        }
+        current = next;
+        currentPath = path;
+        endingReported = false;
+        next.currentTimeProperty().addListener(endWatcher);
+        next.setOnEndOfMedia(() -> {
+            if (!endingReported) {
+                reportEnding();
+            }
+        });
+
+        if (previous == null || previous.getStatus() != MediaPlayer.Status.PLAYING) {
+            release(previous);
+            next.setVolume(volume);
+            next.play();
+            return;
+        }
+        next.setVolume(0);
+        next.play();
+        fadingOut = previous;
+        fade = new Timeline(
+                new KeyFrame(Duration.ZERO,
+                        new KeyValue(previous.volumeProperty(), previous.getVolume()),
+                        new KeyValue(next.volumeProperty(), 0)),
+                new KeyFrame(fadeDuration,
+                        new KeyValue(previous.volumeProperty(), 0),
+                        new KeyValue(next.volumeProperty(), volume)));
+        fade.setOnFinished(e -> finishFade());
+        fade.play();
+    }
+
+    /**
+     * Pausiert die Wiedergabe; eine laufende Überblendung wird beendet.
+     */
+    public void pause() {
+        finishFade();
+        if (current != null) {
+            current.pause();
+        }
+    }
+
+    /**
+     * Setzt einen pausierten Titel fort.
+     * @param path Erwarteter Titel
+     * @return false, wenn nicht genau dieser Titel pausiert ist
+     */
+    public boolean resume(String path) {
+        if (current == null || !path.equals(currentPath) || current.getStatus() != MediaPlayer.Status.PAUSED) {
+            return false;
+        }
+        current.play();
+        return true;
+    }
+
+    /**
+     * Setzt die Lautstärke.
+     * @param volume Lautstärke (0-1)
+     */
+    public void setVolume(double volume) {
+        this.volume = volume;
+        finishFade();
+        if (current != null) {
+            current.setVolume(volume);
+        }
+    }
+
+    /**
+     * Gibt alle Player frei.
+     */
+    public void dispose() {
+        finishFade();
+        release(current);
+        release(preloaded);
+        current = null;
+        currentPath = null;
+        preloaded = null;
+        preloadedPath = null;
+    }
+
+    private void reportEnding() {
+        endingReported = true;
+        if (onTrackEnding != null) {
+            onTrackEnding.run();
+        }
+    }
+
+    /**
+     * Springt ans Ende einer laufenden Überblendung und gibt den ausgeblendeten Player frei.
+     */
+    private void finishFade() {
+        if (fade != null) {
+            fade.stop();
+            fade = null;
+        }
+        if (fadingOut != null) {
+            release(fadingOut);
+            fadingOut = null;
+        }
+        if (current != null) {
+            current.setVolume(volume);
+        }
+    }
+
+    private MediaPlayer open(String path) {
+        try {
+            return createPlayer(path);
+        } catch (RuntimeException e) {
+            // Fehler zeigt erst play() an
+            return null;
+        }
+    }
+
+    private static MediaPlayer createPlayer(String path) {
+        return new MediaPlayer(new Media(new File(path).toURI().toString()));
+    }
+
+    private static void release(MediaPlayer player) {
+        if (player != null) {
+            player.stop();
+            player.dispose();
+        }
+    }
+}
@@ -1,16 +1,49 @@
 package com.example.memorygame;
 
+import javafx.css.PseudoClass;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
 import javafx.scene.control.Button;
+import javafx.scene.layout.GridPane;
+
+import java.util.Arrays;
 
 /**
- * Stellt das Spielfeld für das Memory-Spiel dar.
+ * Stellt das Spielfeld für das Memory-Spiel mit einem Button pro Feld dar.
+ * <p>
+ * Das Aussehen der Felder steht in {@code dark-mode.css} (Style-Klasse
+ * {@code memory-cell}); hier werden nur die Pseudo-Klassen umgeschaltet.
+ * <p>
+ * Die Buttons werden in einem Pool gehalten und bei {@link #configure} für
+ * neue Feld- oder Buttongrößen wiederverwendet; neue Buttons entstehen nur,
+ * wenn ein größeres Feld als bisher gebraucht wird.
+ * <p>
+ * Sperren und Freigeben wirken als ein Eingabe-Tor auf das ganze GridPane.
+ * Felder, deren Bedienbarkeit sich geändert hat, landen in einer Dirty-Liste
+ * und werden beim nächsten Sperren oder Freigeben übernommen; ein Zug kostet
+ * damit O(geänderte Felder) statt O(N²).
  */
-public class GameBoard {
-
-    private Button[][] buttons;
+public final class GameBoard implements BoardView {
+
+    private static final PseudoClass REVEALED = PseudoClass.getPseudoClass("revealed");
+    private static final PseudoClass FOUND = PseudoClass.getPseudoClass("found");
+    // Bleibt an jedem Feld gesetzt. JavaFX verwirft das Bit-Array der Pseudo-Klassen, sobald
+    // keine mehr gesetzt ist, und legt es beim nächsten Aufdecken neu an. Mit einer stets
+    // gesetzten Klasse wird die Menge nie leer, unabhängig von der Reihenfolge der Indizes;
+    // wächst das Array einmal, bleibt es so groß, und ein Zug bleibt allokationsfrei.
+    private static final PseudoClass CELL = PseudoClass.getPseudoClass("memory-cell");
+    private static final String[] SIZE_STYLE_CLASSES = {"cell-large", "cell-medium", "cell-small"};
+
+    private Button[] pool = new Button[0];
+    private boolean[] found = new boolean[0];
+    private boolean[] dirty = new boolean[0];
+    private int[] dirtyCells = new int[0];
+    private int dirtyCount;
+    private boolean locked;
     private int gridSize;
     private double buttonSize;
     private ButtonClickHandler clickHandler;
+    private final GridPane gridPane;
 
     /**
      * Funktionales Interface für Button-Klicks.
@@ -27,58 +60,117 @@ public class GameBoard {
      * @param clickHandler Handler für Klicks
      */
     public GameBoard(int gridSize, double buttonSize, ButtonClickHandler clickHandler) {
-        this.gridSize = gridSize;
-        this.buttonSize = buttonSize;
         this.clickHandler = clickHandler;
-        createButtons();
+        this.gridPane = new GridPane();
+        gridPane.setAlignment(Pos.CENTER);
+        gridPane.setHgap(10);
+        gridPane.setVgap(10);
+        configure(gridSize, buttonSize);
     }
 
     /**
-     * Erstellt die Buttons für das Spielfeld.
+     * Stellt das Spielfeld auf eine neue Größe um und setzt es zurück.
+     * Vorhandene Buttons werden wiederverwendet.
+     * @param gridSize Größe des Spielfelds
+     * @param buttonSize Größe der Buttons
      */
-    private void createButtons() {
-        buttons = new Button[gridSize][gridSize];
+    @Override
+    public void configure(int gridSize, double buttonSize) {
+        int cellCount = gridSize * gridSize;
+        ensurePoolSize(cellCount);
+
+        boolean layoutChanged = gridSize != this.gridSize;
+        boolean sizeChanged = buttonSize != this.buttonSize;
+        this.gridSize = gridSize;
+        this.buttonSize = buttonSize;
 
-        for (int i = 0; i < gridSize; i++) {
-            for (int j = 0; j < gridSize; j++) {
-                Button btn = new Button();
+        if (layoutChanged || sizeChanged) {
+            String sizeStyleClass = getSizeStyleClass();
+            for (int i = 0; i < cellCount; i++) {
+                Button btn = pool[i];
                 btn.setMinSize(buttonSize, buttonSize);
                 btn.setMaxSize(buttonSize, buttonSize);
+                btn.getStyleClass().removeAll(SIZE_STYLE_CLASSES);
+                btn.getStyleClass().add(sizeStyleClass);
+                GridPane.setConstraints(btn, i % gridSize, i / gridSize);
+            }
+        }
+        if (layoutChanged) {
+            gridPane.getChildren().setAll(Arrays.asList(pool).subList(0, cellCount));
+        }
+        reset();
+    }
 
-                int fontSize = getFontSize();
-                btn.setStyle("-fx-font-size: " + fontSize + "px; -fx-background-color: #4a4a4a; -fx-text-fill: white;");
-
-                final int row = i;
-                final int col = j;
-                btn.setOnAction(e -> clickHandler.onClick(row, col));
+    /**
+     * Vergrößert den Button-Pool bei Bedarf.
+     * @param cellCount Benötigte Anzahl Buttons
+     */
+    private void ensurePoolSize(int cellCount) {
+        if (pool.length >= cellCount) {
+            return;
+        }
+        int oldSize = pool.length;
+        pool = Arrays.copyOf(pool, cellCount);
+        found = new boolean[cellCount];
+        dirty = new boolean[cellCount];
+        dirtyCells = new int[cellCount];
+        for (int i = oldSize; i < cellCount; i++) {
+            Button btn = new Button();
+            btn.getStyleClass().add("memory-cell");
+            btn.pseudoClassStateChanged(CELL, true);
+
+            // Zeile und Spalte erst beim Klick bestimmen, da sich die Feldgröße ändern kann
+            final int index = i;
+            btn.setOnAction(e -> {
+                if (!locked) {
+                    clickHandler.onClick(index / gridSize, index % gridSize);
+                }
+            });
 
-                buttons[i][j] = btn;
-            }
+            pool[i] = btn;
         }
     }
 
     /**
-     * Gibt die empfohlene Schriftgröße zurück.
-     * @return Schriftgröße
+     * Gibt die Style-Klasse für die Schriftgröße zurück.
+     * @return Style-Klasse
      */
-    private int getFontSize() {
-        if (gridSize == 4) return 24;
-        else if (gridSize == 6) return 18;
-        else return 14;
+    private String getSizeStyleClass() {
+        if (gridSize == 4) return SIZE_STYLE_CLASSES[0];
+        else if (gridSize == 6) return SIZE_STYLE_CLASSES[1];
+        else return SIZE_STYLE_CLASSES[2];
+    }
+
+    private Button button(int row, int col) {
+        return pool[row * gridSize + col];
+    }
+
+    /**
+     * Gibt das GridPane mit den Buttons zurück.
+     * @return GridPane mit allen Buttons
+     */
+    @Override
+    public Node getNode() {
+        return gridPane;
     }
 
     /**
      * Setzt das Spielfeld zurück.
-     * @param symbols Neue Symbole
      */
-    public void reset(String[][] symbols) {
-        for (int i = 0; i < gridSize; i++) {
-            for (int j = 0; j < gridSize; j++) {
-                buttons[i][j].setText("");
-                buttons[i][j].setDisable(false);
-                buttons[i][j].setStyle("-fx-font-size: " + getFontSize() + "px; -fx-background-color: #4a4a4a; -fx-text-fill: white;");
-            }
+    @Override
+    public void reset() {
+        int cellCount = gridSize * gridSize;
+        for (int i = 0; i < cellCount; i++) {
+            Button btn = pool[i];
+            btn.setText("");
+            btn.setDisable(false);
+            btn.pseudoClassStateChanged(REVEALED, false);
+            btn.pseudoClassStateChanged(FOUND, false);
+            found[i] = false;
+            dirty[i] = false;
         }
+        dirtyCount = 0;
+        setLocked(false);
     }
 
     /**
@@ -87,9 +179,11 @@ public class GameBoard {
      * @param col Spalte
      * @param symbol Symbol
      */
+    @Override
     public void revealButton(int row, int col, String symbol) {
-        buttons[row][col].setText(symbol);
-        buttons[row][col].setStyle("-fx-font-size: " + getFontSize() + "px; -fx-background-color: #6a6a6a; -fx-text-fill: white;");
+        Button btn = button(row, col);
+        btn.setText(symbol);
+        btn.pseudoClassStateChanged(REVEALED, true);
     }
 
     /**
@@ -97,9 +191,11 @@ public class GameBoard {
      * @param row Zeile
      * @param col Spalte
      */
+    @Override
     public void hideButton(int row, int col) {
-        buttons[row][col].setText("");
-        buttons[row][col].setStyle("-fx-font-size: " + getFontSize() + "px; -fx-background-color: #4a4a4a; -fx-text-fill: white;");
+        Button btn = button(row, col);
+        btn.setText("");
+        btn.pseudoClassStateChanged(REVEALED, false);
     }
 
     /**
@@ -107,41 +203,53 @@ public class GameBoard {
      * @param row Zeile
      * @param col Spalte
      */
+    @Override
     public void markAsFound(int row, int col) {
-        buttons[row][col].setDisable(true);
-        buttons[row][col].setStyle("-fx-font-size: " + getFontSize() + "px; -fx-background-color: #2d5a3d; -fx-text-fill: #90ee90;");
+        int index = row * gridSize + col;
+        pool[index].pseudoClassStateChanged(FOUND, true);
+        found[index] = true;
+        markDirty(index);
     }
 
     /**
-     * Deaktiviert alle Buttons.
+     * Sperrt das Spielfeld für Eingaben.
      */
-    public void disableAllButtons() {
-        for (int i = 0; i < gridSize; i++) {
-            for (int j = 0; j < gridSize; j++) {
-                buttons[i][j].setDisable(true);
-            }
-        }
+    @Override
+    public void lockBoard() {
+        setLocked(true);
+        flushDirtyCells();
     }
 
     /**
-     * Aktiviert alle nicht aufgedeckten Buttons.
-     * @param revealedPositions Matrix der aufgedeckten Felder
+     * Gibt das Spielfeld frei; gefundene Felder bleiben deaktiviert.
      */
-    public void enableUnrevealedButtons(boolean[][] revealedPositions) {
-        for (int i = 0; i < gridSize; i++) {
-            for (int j = 0; j < gridSize; j++) {
-                if (!revealedPositions[i][j]) {
-                    buttons[i][j].setDisable(false);
-                }
-            }
+    @Override
+    public void unlockBoard() {
+        flushDirtyCells();
+        setLocked(false);
+    }
+
+    private void setLocked(boolean locked) {
+        this.locked = locked;
+        gridPane.setMouseTransparent(locked);
+    }
+
+    private void markDirty(int index) {
+        if (!dirty[index]) {
+            dirty[index] = true;
+            dirtyCells[dirtyCount++] = index;
         }
     }
 
     /**
-     * Gibt das Button-Array zurück.
-     * @return Buttons
+     * Übernimmt die Bedienbarkeit der seit dem letzten Aufruf geänderten Felder.
      */
-    public Button[][] getButtons() {
-        return buttons;
+    private void flushDirtyCells() {
+        for (int i = 0; i < dirtyCount; i++) {
+            int index = dirtyCells[i];
+            dirty[index] = false;
+            pool[index].setDisable(found[index]);
+        }
+        dirtyCount = 0;
     }
-}
\ No newline at end of file
+}
@@ -1,24 +1,36 @@
 package com.example.memorygame;
 
-import javafx.animation.PauseTransition;
 import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
-import javafx.util.Duration;
 
-public class GameController {
+import java.util.Arrays;
+
+public final class GameController {
+
+    // Ab dieser Feldgröße wird auf eine Canvas gezeichnet statt Buttons anzulegen
+    private static final int CANVAS_GRID_THRESHOLD = 16;
 
     private MemoryGame mainApp;
     private MusicManager musicManager;
     private HighscoreManager highscoreManager;
+    private PlayerProfileStore profileStore;
+    private SoundEffects soundEffects;
 
     // Game state
     private GameModel gameModel;
-    private GameBoard gameBoard;
+    private BoardView gameBoard;
+    private GameBoard buttonBoard;
+    private CanvasGameBoard canvasBoard;
     private GameTimer gameTimer;
 
+    // Uhr des Spiels auf dem gemeinsamen Scheduler; Pause hält Timer und Verdeck-Pause gemeinsam an
+    private final TimingWheel.Group gameClock;
+    private final TimingWheel.Task turnDelay;
+    private long turnDelayNanos;
+
     // UI components
     private BorderPane gameLayout;
     private GridPane gameGrid;
@@ -30,12 +42,22 @@ public class GameController {
     private String currentPlayerName = "";
     private String currentDifficulty = "Mittel";
 
-    public GameController(MemoryGame mainApp, MusicManager musicManager, HighscoreManager highscoreManager) {
+    // "Attempts: n" texts, built once per value so a turn does not allocate
+    private String[] attemptsTexts = new String[64];
+    // Texte der Zeitanzeige je Sekunde, bis GameTimer.CACHED_SECONDS
+    private String[] timeTexts = new String[64];
+
+    public GameController(MemoryGame mainApp, MusicManager musicManager, HighscoreManager highscoreManager,
+                          PlayerProfileStore profileStore, SoundEffects soundEffects, TimingWheel scheduler) {
         this.mainApp = mainApp;
         this.musicManager = musicManager;
         this.highscoreManager = highscoreManager;
+        this.profileStore = profileStore;
+        this.soundEffects = soundEffects;
         this.gameModel = new GameModel();
-        this.gameTimer = new GameTimer(this::updateTimeDisplay);
+        this.gameClock = scheduler.createGroup();
+        this.gameTimer = new GameTimer(gameClock, this::updateTimeDisplay);
+        this.turnDelay = TimingWheel.task(this::resolveTurn);
     }
 
     public VBox createGamePane() {
@@ -83,15 +105,27 @@ public class GameController {
     }
 
     public void initializeGame(String playerName, String difficulty) {
+        initializeGame(playerName, difficulty, BoardGenerator.randomSeed());
+    }
+
+    /**
+     * Startet ein Spiel auf dem durch den Seed bestimmten Feld, z.B. aus einem geteilten Code.
+     * @param playerName Spielername
+     * @param difficulty Schwierigkeitsgrad
+     * @param seed Seed des Spielfelds
+     */
+    public void initializeGame(String playerName, String difficulty, long seed) {
         this.currentPlayerName = playerName;
         this.currentDifficulty = difficulty;
+        resetClock();
 
         // Configure game settings based on difficulty
         GameSettings settings = GameSettings.fromDifficulty(difficulty);
-        gameModel.initialize(settings);
+        gameModel.initialize(settings, seed);
+        prepareTurnDelay(settings);
 
-        // Create game board
-        gameBoard = new GameBoard(settings.getGridSize(), settings.getButtonSize(), this::onButtonClicked);
+        // Reuse the pooled game board
+        gameBoard = obtainBoard(settings);
         buildGameGrid();
 
         // Reset UI
@@ -104,15 +138,18 @@ public class GameController {
 
     public void startNewGame() {
         gameTimer.stop();
+        resetClock();
         GameSettings settings = GameSettings.fromDifficulty(currentDifficulty);
         gameModel.initialize(settings);
-        gameBoard.reset(gameModel.getSymbols());
+        prepareTurnDelay(settings);
+        gameBoard.reset();
         updateScoreDisplay();
         gameTimer.start();
+        updateTimeDisplay();
     }
 
     public void showPauseMenu() {
-        gameTimer.pause();
+        gameClock.pause();
 
         Alert pauseAlert = new Alert(Alert.AlertType.CONFIRMATION);
         pauseAlert.setTitle("Game Paused");
@@ -127,35 +164,51 @@ public class GameController {
 
         pauseAlert.showAndWait().ifPresentOrElse(result -> {
             if (result == resumeButton) {
-                gameTimer.resume();
+                gameClock.resume();
             } else if (result == newGameButton) {
                 startNewGame();
             } else if (result == mainMenuButton) {
                 gameTimer.stop();
+                resetClock();
                 mainApp.switchToStartView();
             }
-        }, () -> gameTimer.resume());
+        }, gameClock::resume);
     }
 
-    private void buildGameGrid() {
-        gameGrid = new GridPane();
-        gameGrid.setAlignment(Pos.CENTER);
-        gameGrid.setHgap(10);
-        gameGrid.setVgap(10);
-
-        Button[][] buttons = gameBoard.getButtons();
-        int gridSize = gameModel.getSettings().getGridSize();
-
-        for (int i = 0; i < gridSize; i++) {
-            for (int j = 0; j < gridSize; j++) {
-                gameGrid.add(buttons[i][j], j, i);
+    /**
+     * Liefert das passende Spielfeld und stellt es auf die Einstellungen um.
+     * Beide Darstellungen werden nur einmal erzeugt und danach wiederverwendet.
+     */
+    private BoardView obtainBoard(GameSettings settings) {
+        int gridSize = settings.getGridSize();
+        double buttonSize = settings.getButtonSize();
+        if (gridSize > CANVAS_GRID_THRESHOLD) {
+            if (canvasBoard == null) {
+                canvasBoard = new CanvasGameBoard(gridSize, buttonSize, this::onButtonClicked);
+            } else {
+                canvasBoard.configure(gridSize, buttonSize);
             }
+            return canvasBoard;
+        }
+        if (buttonBoard == null) {
+            buttonBoard = new GameBoard(gridSize, buttonSize, this::onButtonClicked);
+        } else {
+            buttonBoard.configure(gridSize, buttonSize);
         }
+        return buttonBoard;
+    }
 
-        gameLayout.setCenter(gameGrid);
+    private void buildGameGrid() {
+        gameLayout.setCenter(gameBoard.getNode());
     }
 
-    private void onButtonClicked(int row, int col) {
+    /**
+     * Verarbeitet den Klick auf ein Feld. Package-private, damit Tests den
+     * Klickpfad ohne JavaFX-Ereignisse aufrufen können.
+     * @param row Zeile
+     * @param col Spalte
+     */
+    void onButtonClicked(int row, int col) {
         if (!gameModel.canClick(row, col)) {
             return;
         }
@@ -165,57 +218,88 @@ public class GameController {
 
         if (gameModel.getClickedCount() == 2) {
             handleTwoButtonsClicked();
+        } else {
+            soundEffects.play(SoundEffects.Effect.FLIP);
         }
     }
 
     private void handleTwoButtonsClicked() {
-        gameBoard.disableAllButtons();
+        // Ergebnis sofort hörbar machen, nicht erst nach der Verdeck-Pause
+        boolean match = gameModel.isMatch(gameModel.getClickedRow(0), gameModel.getClickedCol(0),
+                gameModel.getClickedRow(1), gameModel.getClickedCol(1));
+        soundEffects.play(match ? SoundEffects.Effect.MATCH : SoundEffects.Effect.MISMATCH);
+
+        gameBoard.lockBoard();
         gameModel.incrementAttempts();
         updateScoreDisplay();
 
-        PauseTransition pause = new PauseTransition(Duration.seconds(gameModel.getSettings().getPauseTime()));
-        pause.setOnFinished(event -> {
-            int[] pos1 = gameModel.getClickedPosition(0);
-            int[] pos2 = gameModel.getClickedPosition(1);
-
-            if (gameModel.isMatch(pos1[0], pos1[1], pos2[0], pos2[1])) {
-                // Match found
-                gameBoard.markAsFound(pos1[0], pos1[1]);
-                gameBoard.markAsFound(pos2[0], pos2[1]);
-                gameModel.markAsRevealed(pos1[0], pos1[1]);
-                gameModel.markAsRevealed(pos2[0], pos2[1]);
-                gameModel.incrementPairs();
-
-                if (gameModel.isGameWon()) {
-                    handleGameWon();
-                    return;
-                }
-            } else {
-                // No match
-                gameBoard.hideButton(pos1[0], pos1[1]);
-                gameBoard.hideButton(pos2[0], pos2[1]);
-            }
+        gameClock.schedule(turnDelay, turnDelayNanos);
+    }
 
-            gameModel.clearClickedPositions();
-            gameBoard.enableUnrevealedButtons(gameModel.getRevealedPositions());
-        });
+    private void prepareTurnDelay(GameSettings settings) {
+        turnDelayNanos = (long) (settings.getPauseTime() * 1_000_000_000L);
+    }
+
+    /**
+     * Bricht die ausstehende Verdeck-Pause ab und hebt eine Pause des Spiels auf.
+     */
+    private void resetClock() {
+        gameClock.cancel(turnDelay);
+        gameClock.resume();
+    }
+
+    private void resolveTurn() {
+        int row1 = gameModel.getClickedRow(0);
+        int col1 = gameModel.getClickedCol(0);
+        int row2 = gameModel.getClickedRow(1);
+        int col2 = gameModel.getClickedCol(1);
+
+        if (gameModel.isMatch(row1, col1, row2, col2)) {
+            // Match found
+            gameBoard.markAsFound(row1, col1);
+            gameBoard.markAsFound(row2, col2);
+            gameModel.markAsRevealed(row1, col1);
+            gameModel.markAsRevealed(row2, col2);
+            gameModel.incrementPairs();
+
+            if (gameModel.isGameWon()) {
+                handleGameWon();
+                return;
+            }
+        } else {
+            // No match
+            gameBoard.hideButton(row1, col1);
+            gameBoard.hideButton(row2, col2);
+        }
 
-        pause.play();
+        gameModel.clearClickedPositions();
+        gameBoard.unlockBoard();
     }
 
     private void handleGameWon() {
         gameTimer.stop();
-        gameBoard.disableAllButtons();
+        gameBoard.lockBoard();
 
-        Platform.runLater(() -> {
-            highscoreManager.saveScore(currentPlayerName, currentDifficulty,
-                    gameTimer.getElapsedTimeInSeconds(), gameModel.getAttempts());
+        String playerName = currentPlayerName;
+        String difficulty = currentDifficulty;
+        long timeInMillis = gameTimer.getElapsedTimeInMillis();
+        int attempts = gameModel.getAttempts();
+        profileStore.recordGame(playerName, difficulty, timeInMillis, attempts);
+
+        // Erst Scores anderer laufender Instanzen übernehmen, damit der Platz stimmt. Gelesen
+        // wird auf dem Schreib-Thread des Journals, eingetragen wieder hier auf dem FX-Thread;
+        // die Datei schreibt das Journal im Hintergrund.
+        highscoreManager.refreshAsync(Platform::runLater, () -> {
+            int rank = highscoreManager.getRankInTopK(difficulty, timeInMillis, attempts);
+            boolean placed = highscoreManager.saveScoreMillis(playerName, difficulty, timeInMillis, attempts);
 
             Alert winAlert = new Alert(Alert.AlertType.CONFIRMATION);
             winAlert.setTitle("Game Finished!");
             winAlert.setHeaderText("Congratulations! You found all pairs!");
             winAlert.setContentText("Time: " + gameTimer.getFormattedTime() +
-                    "\nAttempts: " + gameModel.getAttempts() +
+                    "\nAttempts: " + attempts +
+                    (placed ? "\nLeaderboard rank: #" + rank : "") +
+                    "\nBoard code: " + BoardGenerator.toShareCode(difficulty, gameModel.getSeed()) +
                     "\n\nWould you like to start a new game or return to the main menu?");
 
             ButtonType newGameButton = new ButtonType("New Game");
@@ -234,14 +318,47 @@ public class GameController {
     }
 
     private void updateScoreDisplay() {
-        scoreLabel.setText("Attempts: " + gameModel.getAttempts());
+        int attempts = gameModel.getAttempts();
+        if (attempts >= attemptsTexts.length) {
+            attemptsTexts = Arrays.copyOf(attemptsTexts, Math.max(attempts + 1, attemptsTexts.length * 2));
+        }
+        String text = attemptsTexts[attempts];
+        if (text == null) {
+            text = "Attempts: " + attempts;
+            attemptsTexts[attempts] = text;
+        }
+        scoreLabel.setText(text);
     }
 
     private void updateTimeDisplay() {
-        timeLabel.setText("Time: " + gameTimer.getFormattedTime());
+        long seconds = gameTimer.getElapsedTimeInSeconds();
+        if (seconds >= GameTimer.CACHED_SECONDS) {
+            timeLabel.setText("Time: " + gameTimer.formatSeconds(seconds));
+            return;
+        }
+        int index = (int) seconds;
+        if (index >= timeTexts.length) {
+            timeTexts = Arrays.copyOf(timeTexts, Math.min(GameTimer.CACHED_SECONDS,
+                    Math.max(index + 1, timeTexts.length * 2)));
+        }
+        String text = timeTexts[index];
+        if (text == null) {
+            text = "Time: " + gameTimer.formatSeconds(seconds);
+            timeTexts[index] = text;
+        }
+        timeLabel.setText(text);
+    }
+
+    /**
+     * Gibt das Spielmodell für Tests zurück.
+     * @return Spielmodell
+     */
+    GameModel getGameModel() {
+        return gameModel;
     }
 
     public void cleanup() {
+        gameClock.cancel(turnDelay);
         if (gameTimer != null) {
             gameTimer.stop();
         }
@@ -8,30 +8,44 @@ import java.util.*;
 public class GameModel {
 
     private GameSettings settings;
-    private String[][] gameGrid;
-    private boolean[][] revealedPositions;
-    private List<int[]> clickedPositions;
+    private PackedBoard board;
+    // Symbol-IDs der Paare; null, wenn Paar-ID und Symbol-ID übereinstimmen
+    private int[] symbolIds;
+    private int firstClicked = -1;
+    private int secondClicked = -1;
+    private int clickedCount;
     private int pairs;
     private int attempts;
+    private long seed;
 
     /**
      * Konstruktor.
      */
     public GameModel() {
-        this.clickedPositions = new ArrayList<>();
     }
 
     /**
-     * Initialisiert das Spielmodell mit den gegebenen Einstellungen.
+     * Initialisiert das Spielmodell mit den gegebenen Einstellungen und einem zufälligen Feld.
      * @param settings Spieleinstellungen
      */
     public void initialize(GameSettings settings) {
+        initialize(settings, BoardGenerator.randomSeed());
+    }
+
+    /**
+     * Initialisiert das Spielmodell mit dem durch den Seed bestimmten Feld.
+     * @param settings Spieleinstellungen
+     * @param seed Seed des Spielfelds
+     */
+    public void initialize(GameSettings settings, long seed) {
         this.settings = settings;
+        this.seed = seed;
         int gridSize = settings.getGridSize();
 
-        this.gameGrid = new String[gridSize][gridSize];
-        this.revealedPositions = new boolean[gridSize][gridSize];
-        this.clickedPositions.clear();
+        if (board == null || board.getGridSize() != gridSize) {
+            this.board = new PackedBoard(gridSize);
+        }
+        clearClickedPositions();
         this.pairs = 0;
         this.attempts = 0;
 
@@ -40,27 +54,21 @@ public class GameModel {
 
     /**
      * Generiert und verteilt die Symbole auf dem Spielfeld.
+     * <p>
+     * Kleine Felder ziehen ihre Symbole zufällig aus dem klassischen Vorrat und
+     * merken sich deren IDs. Ab {@link SymbolCatalogue#CLASSIC_SIZE} Paaren werden
+     * ohnehin alle IDs 0..n-1 gebraucht; da die Felder gemischt werden, ist Paar
+     * k dann einfach Symbol k, und das Modell hält keine Symboltabelle.
      */
     private void generateGameSymbols() {
         int gridSize = settings.getGridSize();
         int totalPairs = (gridSize * gridSize) / 2;
 
-        String[] symbols = SymbolGenerator.generateSymbols(totalPairs);
-
-        List<String> gameSymbols = new ArrayList<>();
-        for (String symbol : symbols) {
-            gameSymbols.add(symbol);
-            gameSymbols.add(symbol);
-        }
-        Collections.shuffle(gameSymbols);
-
-        int index = 0;
-        for (int i = 0; i < gridSize; i++) {
-            for (int j = 0; j < gridSize; j++) {
-                gameGrid[i][j] = gameSymbols.get(index++);
-                revealedPositions[i][j] = false;
-            }
-        }
+        SplittableRandom random = BoardGenerator.boardRandom(seed, settings);
+        symbolIds = totalPairs < SymbolCatalogue.CLASSIC_SIZE
+                ? SymbolCatalogue.selectIds(totalPairs, random)
+                : null;
+        board.fillShuffledPairs(random);
     }
 
     /**
@@ -70,13 +78,9 @@ public class GameModel {
      * @return true, wenn klickbar
      */
     public boolean canClick(int row, int col) {
-        return !revealedPositions[row][col] && clickedPositions.size() < 2 &&
-                !isAlreadyClicked(row, col);
-    }
-
-    private boolean isAlreadyClicked(int row, int col) {
-        return clickedPositions.stream()
-                .anyMatch(pos -> pos[0] == row && pos[1] == col);
+        int index = board.index(row, col);
+        return !board.isRevealed(index) && clickedCount < 2 &&
+                index != firstClicked && index != secondClicked;
     }
 
     /**
@@ -85,8 +89,12 @@ public class GameModel {
      * @param col Spalte
      */
     public void addClickedPosition(int row, int col) {
-        if (clickedPositions.size() < 2) {
-            clickedPositions.add(new int[]{row, col});
+        if (clickedCount == 0) {
+            firstClicked = board.index(row, col);
+            clickedCount = 1;
+        } else if (clickedCount == 1) {
+            secondClicked = board.index(row, col);
+            clickedCount = 2;
         }
     }
 
@@ -94,7 +102,9 @@ public class GameModel {
      * Leert die Liste der angeklickten Positionen.
      */
     public void clearClickedPositions() {
-        clickedPositions.clear();
+        firstClicked = -1;
+        secondClicked = -1;
+        clickedCount = 0;
     }
 
     /**
@@ -102,7 +112,7 @@ public class GameModel {
      * @return true, wenn gleich
      */
     public boolean isMatch(int row1, int col1, int row2, int col2) {
-        return gameGrid[row1][col1].equals(gameGrid[row2][col2]);
+        return board.isSamePair(board.index(row1, col1), board.index(row2, col2));
     }
 
     /**
@@ -111,7 +121,7 @@ public class GameModel {
      * @param col Spalte
      */
     public void markAsRevealed(int row, int col) {
-        revealedPositions[row][col] = true;
+        board.setRevealed(board.index(row, col));
     }
 
     /**
@@ -138,11 +148,106 @@ public class GameModel {
     }
 
     public GameSettings getSettings() { return settings; }
-    public String getSymbol(int row, int col) { return gameGrid[row][col]; }
-    public String[][] getSymbols() { return gameGrid; }
-    public boolean[][] getRevealedPositions() { return revealedPositions; }
-    public int getClickedCount() { return clickedPositions.size(); }
-    public int[] getClickedPosition(int index) { return clickedPositions.get(index); }
+    /**
+     * Gibt die Paar-ID eines Feldes zurück.
+     * @param row Zeile
+     * @param col Spalte
+     * @return Paar-ID (0 bis Paaranzahl - 1)
+     */
+    public int getPairId(int row, int col) {
+        return board.getPairId(board.index(row, col));
+    }
+
+    /**
+     * Prüft, ob ein Feld bereits aufgedeckt ist.
+     * @param row Zeile
+     * @param col Spalte
+     * @return true, wenn aufgedeckt
+     */
+    public boolean isRevealed(int row, int col) {
+        return board.isRevealed(board.index(row, col));
+    }
+
+    /**
+     * Baut eine Kopie des Spielfelds als Symbol-Matrix auf.
+     * Teuer bei großen Feldern; für einzelne Felder {@link #getSymbol} verwenden.
+     * @return Symbol-Matrix
+     */
+    public String[][] getSymbols() {
+        int gridSize = board.getGridSize();
+        String[][] symbols = new String[gridSize][gridSize];
+        for (int i = 0; i < gridSize; i++) {
+            for (int j = 0; j < gridSize; j++) {
+                symbols[i][j] = getSymbol(i, j);
+            }
+        }
+        return symbols;
+    }
+
+    /**
+     * Baut eine Kopie des Aufdeck-Zustands als Matrix auf.
+     * Teuer bei großen Feldern; für einzelne Felder {@link #isRevealed} verwenden.
+     * @return Matrix der aufgedeckten Felder
+     */
+    public boolean[][] getRevealedPositions() {
+        int gridSize = board.getGridSize();
+        boolean[][] positions = new boolean[gridSize][gridSize];
+        for (int i = 0; i < gridSize; i++) {
+            for (int j = 0; j < gridSize; j++) {
+                positions[i][j] = isRevealed(i, j);
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Gibt das Symbol eines Feldes zurück; es kommt direkt aus dem {@link SymbolCatalogue}.
+     * @param row Zeile
+     * @param col Spalte
+     * @return Symbol
+     */
+    public String getSymbol(int row, int col) {
+        int pairId = getPairId(row, col);
+        return SymbolCatalogue.symbolAt(symbolIds == null ? pairId : symbolIds[pairId]);
+    }
+
+    /**
+     * Gibt die Zeile der angeklickten Position zurück.
+     * @param index 0 für den ersten, 1 für den zweiten Klick
+     * @return Zeile
+     */
+    public int getClickedRow(int index) {
+        return clickedIndex(index) / board.getGridSize();
+    }
+
+    /**
+     * Gibt die Spalte der angeklickten Position zurück.
+     * @param index 0 für den ersten, 1 für den zweiten Klick
+     * @return Spalte
+     */
+    public int getClickedCol(int index) {
+        return clickedIndex(index) % board.getGridSize();
+    }
+
+    private int clickedIndex(int index) {
+        if (index >= clickedCount) {
+            throw new IndexOutOfBoundsException("Clicked position " + index + " of " + clickedCount);
+        }
+        return index == 0 ? firstClicked : secondClicked;
+    }
+
+    /**
+     * Gibt eine angeklickte Position als neues Array zurück.
+     * Im Klickpfad stattdessen {@link #getClickedRow}/{@link #getClickedCol} verwenden.
+     * @param index 0 für den ersten, 1 für den zweiten Klick
+     * @return {row, col}
+     */
+    public int[] getClickedPosition(int index) {
+        return new int[]{getClickedRow(index), getClickedCol(index)};
+    }
+
+    public int getClickedCount() { return clickedCount; }
     public int getPairs() { return pairs; }
     public int getAttempts() { return attempts; }
+    public long getSeed() { return seed; }
 }
\ No newline at end of file
@@ -34,6 +34,8 @@ public class GameSettings {
                 return new GameSettings(6, 70, 1.5);
             case "Schwer":
                 return new GameSettings(8, 60, 1.0);
+            case "Riesig":
+                return new GameSettings(64, 40, 0.8);
             default:
                 return new GameSettings(4, 80, 2.0);
         }
@@ -1,75 +1,112 @@
 package com.example.memorygame;
 
-import javafx.animation.Timeline;
-import javafx.animation.KeyFrame;
-import javafx.util.Duration;
+import java.util.Arrays;
 
 /**
  * Timer für das Memory-Spiel.
+ * <p>
+ * Misst mit der Uhr einer {@link TimingWheel.Group}; wird die Gruppe pausiert,
+ * steht diese Uhr und damit auch der Timer still. Der Callback
+ * läuft als wiederverwendete Aufgabe genau zu jeder vollen Sekunde. Die Texte
+ * der ersten Stunde werden je Sekunde einmal erzeugt und danach wiederverwendet,
+ * auch über mehrere Spiele hinweg.
  */
-public class GameTimer {
+public final class GameTimer {
 
-    private Timeline timeline;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    /**
+     * Bis zu dieser Sekunde werden formatierte Zeiten zwischengespeichert.
+     */
+    public static final int CACHED_SECONDS = 60 * 60;
+
+    private final TimingWheel.Group clock;
+    private final TimingWheel.Task tickTask;
+    private final StringBuilder formatBuffer = new StringBuilder(8);
+    private String[] formattedTimes = new String[64];
     private long startTime;
     private long endTime;
+    // Eigene Kennung statt startTime == 0: eine virtuelle Uhr beginnt bei 0
+    private boolean started;
     private boolean isActive;
+    private long notifiedSecond = -1;
     private Runnable updateCallback;
 
     /**
      * Konstruktor.
-     * @param updateCallback Callback für UI-Updates.
+     * @param clock Uhr und Scheduler des Spiels
+     * @param updateCallback Callback für UI-Updates, einmal pro angezeigter Sekunde.
      */
-    public GameTimer(Runnable updateCallback) {
+    public GameTimer(TimingWheel.Group clock, Runnable updateCallback) {
+        this.clock = clock;
         this.updateCallback = updateCallback;
+        this.tickTask = TimingWheel.task(this::onTick);
     }
 
     /**
      * Startet den Timer.
      */
     public void start() {
-        startTime = System.currentTimeMillis();
+        startTime = clock.nanoTime();
+        endTime = 0;
+        notifiedSecond = -1;
+        started = true;
         isActive = true;
+        scheduleTick();
+    }
 
-        if (timeline != null) {
-            timeline.stop();
+    /**
+     * Stoppt den Timer.
+     */
+    public void stop() {
+        if (!isActive) {
+            return;
         }
+        isActive = false;
+        endTime = clock.nanoTime();
+        clock.cancel(tickTask);
+    }
 
-        timeline = new Timeline(new KeyFrame(Duration.seconds(1), e -> {
+    private void onTick() {
+        long second = getElapsedNanos() / NANOS_PER_SECOND;
+        if (second != notifiedSecond) {
+            notifiedSecond = second;
             if (updateCallback != null) {
                 updateCallback.run();
             }
-        }));
-        timeline.setCycleCount(Timeline.INDEFINITE);
-        timeline.play();
+        }
+        scheduleTick();
     }
 
     /**
-     * Stoppt den Timer.
+     * Plant den nächsten Tick auf die nächste volle Sekunde Spielzeit.
      */
-    public void stop() {
-        isActive = false;
-        if (timeline != null) {
-            timeline.stop();
+    private void scheduleTick() {
+        long elapsed = getElapsedNanos();
+        clock.schedule(tickTask, NANOS_PER_SECOND - elapsed % NANOS_PER_SECOND);
+    }
+
+    private long elapsedAt(long now) {
+        if (!started) {
+            return 0;
         }
-        endTime = System.currentTimeMillis();
+        long end = isActive ? now : endTime;
+        return Math.max(0, end - startTime);
     }
 
     /**
-     * Pausiert den Timer.
+     * Gibt die vergangene Spielzeit in Nanosekunden zurück (ohne Pausen der Gruppe).
+     * @return Nanosekunden
      */
-    public void pause() {
-        if (timeline != null && isActive) {
-            timeline.pause();
-        }
+    public long getElapsedNanos() {
+        return elapsedAt(clock.nanoTime());
     }
 
     /**
-     * Setzt den Timer fort.
+     * Gibt die vergangene Zeit in Millisekunden zurück, z.B. für Gleichstände bei Highscores.
+     * @return Millisekunden
      */
-    public void resume() {
-        if (timeline != null && isActive) {
-            timeline.play();
-        }
+    public long getElapsedTimeInMillis() {
+        return getElapsedNanos() / 1_000_000L;
     }
 
     /**
@@ -77,12 +114,7 @@ public class GameTimer {
      * @return Sekunden
      */
     public long getElapsedTimeInSeconds() {
-        if (endTime > startTime) {
-            return (endTime - startTime) / 1000;
-        } else if (isActive) {
-            return (System.currentTimeMillis() - startTime) / 1000;
-        }
-        return 0;
+        return getElapsedNanos() / NANOS_PER_SECOND;
     }
 
     /**
@@ -90,10 +122,45 @@ public class GameTimer {
      * @return Formatierte Zeit
      */
     public String getFormattedTime() {
-        long seconds = getElapsedTimeInSeconds();
+        return formatSeconds(getElapsedTimeInSeconds());
+    }
+
+    /**
+     * Formatiert eine Sekundenzahl als mm:ss. Innerhalb von {@link #CACHED_SECONDS}
+     * wird jeder Text nur einmal erzeugt.
+     * @param seconds Sekunden
+     * @return Formatierte Zeit
+     */
+    public String formatSeconds(long seconds) {
+        if (seconds >= CACHED_SECONDS) {
+            return format(seconds);
+        }
+        int index = (int) seconds;
+        if (index >= formattedTimes.length) {
+            formattedTimes = Arrays.copyOf(formattedTimes, Math.min(CACHED_SECONDS,
+                    Math.max(index + 1, formattedTimes.length * 2)));
+        }
+        String text = formattedTimes[index];
+        if (text == null) {
+            text = format(seconds);
+            formattedTimes[index] = text;
+        }
+        return text;
+    }
+
+    private String format(long seconds) {
         long minutes = seconds / 60;
         long remainingSeconds = seconds % 60;
-        return String.format("%02d:%02d", minutes, remainingSeconds);
+        formatBuffer.setLength(0);
+        if (minutes < 10) {
+            formatBuffer.append('0');
+        }
+        formatBuffer.append(minutes).append(':');
+        if (remainingSeconds < 10) {
+            formatBuffer.append('0');
+        }
+        formatBuffer.append(remainingSeconds);
+        return formatBuffer.toString();
     }
 
     /**
@@ -103,4 +170,4 @@ public class GameTimer {
     public boolean isActive() {
         return isActive;
     }
-}
\ No newline at end of file
+}
@@ -1,51 +1,299 @@
 package com.example.memorygame;
 
-import java.io.*;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.Executor;
 
 /**
  * Verwaltet die Highscores für das Memory-Spiel.
+ * <p>
+ * Pro Schwierigkeitsgrad wird eine {@link BoundedTopK}-Liste mit den besten
+ * {@code topK} Einträgen gehalten. Scores, die es nicht in die Liste schaffen,
+ * werden ohne Schreiben der Datei abgewiesen. Platz, Perzentil, Bestwert pro
+ * Spieler und Seiten der Bestenliste lassen sich in O(log K) abfragen.
+ * <p>
+ * Alle diese Abfragen beziehen sich nur auf die gehaltenen Top K, nicht auf
+ * jeden je gespielten Score: Schlechtere Scores werden weder gespeichert noch
+ * gezählt, und das Kompaktieren behält ebenfalls nur K pro Schwierigkeitsgrad.
+ * Die Methoden tragen deshalb {@code InTopK} im Namen.
+ * <p>
+ * Gespeichert wird über ein {@link ScoreJournal}: ein neuer Score ist eine
+ * angehängte Zeile, {@code highscores.txt} wird nur beim Kompaktieren ersetzt.
+ * Die Tabelle im Speicher ist sofort aktuell; geschrieben wird asynchron auf
+ * dem Schreib-Thread des Journals, {@link #close()} wartet darauf.
+ * <p>
+ * Mehrere laufende Instanzen können dieselbe Datei nutzen. Jeder Score trägt
+ * eine zufällige ID, sodass Zeilen, die über {@link #refresh()} oder nach einer
+ * fremden Kompaktierung erneut ankommen, nicht doppelt aufgenommen werden.
  */
 public class HighscoreManager {
 
     private static final String HIGHSCORE_FILE = "highscores.txt";
-    private List<HighscoreEntry> highscores;
+    public static final int DEFAULT_TOP_K = 5;
+    // Nach so vielen angehängten Scores wird das Journal in den Snapshot übernommen
+    private static final int COMPACT_AFTER_APPENDS = 32;
+
+    private final ScoreJournal journal;
+    private final int topK;
+    private int appendsSinceCompaction;
+    private final Map<String, BoundedTopK<HighscoreEntry>> highscores =
+            new TreeMap<>(Comparator.comparingInt(HighscoreManager::getDifficultyOrder)
+                    .thenComparing(Comparator.naturalOrder()));
+    // Bester gehaltener Eintrag pro Schwierigkeitsgrad und Spieler
+    private final Map<String, Map<String, HighscoreEntry>> bestByPlayer = new HashMap<>();
+    // Beobachtbare Sichten für die Bestenlisten-Ansicht, erst bei Bedarf angelegt
+    private final Map<String, LeaderboardList> leaderboards = new HashMap<>();
+    // IDs aller gehaltenen Einträge
+    private final Set<Long> retainedIds = new HashSet<>();
+    private final SplittableRandom ids = new SplittableRandom();
+    private HighscoreEntry lastEvicted;
+    // Reihenfolge des Eintragens, letzter Gleichstandsbrecher
+    private long nextSequence;
 
     /**
-     * Konstruktor. Lädt Highscores aus Datei.
+     * Konstruktor. Lädt Highscores aus der Standarddatei.
      */
     public HighscoreManager() {
-        this.highscores = new ArrayList<>();
+        this(Path.of(HIGHSCORE_FILE));
+    }
+
+    /**
+     * Konstruktor. Lädt Highscores aus der angegebenen Datei.
+     * @param highscoreFile Pfad der Highscore-Datei
+     */
+    public HighscoreManager(Path highscoreFile) {
+        this(highscoreFile, DEFAULT_TOP_K);
+    }
+
+    /**
+     * Konstruktor. Lädt Highscores aus der angegebenen Datei.
+     * @param highscoreFile Pfad der Highscore-Datei
+     * @param topK Anzahl gehaltener Einträge pro Schwierigkeitsgrad
+     */
+    public HighscoreManager(Path highscoreFile, int topK) {
+        if (topK <= 0) {
+            throw new IllegalArgumentException("topK must be positive: " + topK);
+        }
+        this.journal = new ScoreJournal(highscoreFile, lines -> compactLines(lines, topK));
+        this.topK = topK;
         loadHighscores();
     }
 
     /**
-     * Speichert einen neuen Score und hält die Top 5 pro Schwierigkeitsgrad.
+     * Speichert einen neuen Score und hält die Top K pro Schwierigkeitsgrad.
      * @param playerName Spielername
      * @param difficulty Schwierigkeitsgrad
      * @param timeInSeconds Zeit in Sekunden
      * @param attempts Versuche
+     * @return true, wenn der Score in die Bestenliste aufgenommen wurde
      */
-    public void saveScore(String playerName, String difficulty, long timeInSeconds, int attempts) {
-        HighscoreEntry entry = new HighscoreEntry(playerName, difficulty, timeInSeconds, attempts);
-        highscores.add(entry);
+    public boolean saveScore(String playerName, String difficulty, long timeInSeconds, int attempts) {
+        return saveScoreMillis(playerName, difficulty, timeInSeconds * 1000L, attempts);
+    }
 
-        // Sort by time (ascending) and keep only top 10 per difficulty
-        Collections.sort(highscores);
+    /**
+     * Speichert einen neuen Score mit Millisekunden-Genauigkeit.
+     * @param playerName Spielername
+     * @param difficulty Schwierigkeitsgrad
+     * @param timeInMillis Zeit in Millisekunden
+     * @param attempts Versuche
+     * @return true, wenn der Score in die Bestenliste aufgenommen wurde
+     */
+    public boolean saveScoreMillis(String playerName, String difficulty, long timeInMillis, int attempts) {
+        HighscoreEntry entry = new HighscoreEntry(playerName, difficulty, timeInMillis, attempts, nextSequence++, ids.nextLong());
+        if (!offer(entry)) {
+            return false;
+        }
+        journal.append(toLine(entry));
+        if (++appendsSinceCompaction >= COMPACT_AFTER_APPENDS && journal.compact()) {
+            appendsSinceCompaction = 0;
+        }
+        return true;
+    }
+
+    /**
+     * Übernimmt Scores, die andere Instanzen inzwischen gespeichert haben.
+     * Ohne fremde Änderungen wird nur der Kopf der Lock-Datei gelesen.
+     * @return true, wenn neue Zeilen gelesen wurden
+     */
+    public boolean refresh() {
+        return journal.refresh(this::parseLine);
+    }
 
-        // Keep only top 5 per difficulty
-        Map<String, List<HighscoreEntry>> byDifficulty = new HashMap<>();
-        for (HighscoreEntry e : highscores) {
-            byDifficulty.computeIfAbsent(e.getDifficulty(), k -> new ArrayList<>()).add(e);
+    /**
+     * Wie {@link #refresh()}, liest die Dateien aber auf dem Schreib-Thread des
+     * Journals. Übernommen werden die Zeilen auf {@code executor}, dem Thread,
+     * der auch sonst auf diesen Manager zugreift.
+     * @param executor Thread des Managers, z.B. {@code Platform::runLater}
+     * @param onDone Läuft danach auf {@code executor}
+     */
+    public void refreshAsync(Executor executor, Runnable onDone) {
+        journal.refreshAsync(executor, lines -> {
+            for (String line : lines) {
+                parseLine(line);
+            }
+            onDone.run();
+        });
+    }
+
+    /**
+     * Wartet, bis alle gespeicherten Scores auf dem Datenträger sind.
+     */
+    public void flush() {
+        journal.flush();
+    }
+
+    /**
+     * Schreibt ausstehende Scores auf den Datenträger und schließt das Journal.
+     */
+    public void close() {
+        journal.close();
+    }
+
+    private boolean offer(HighscoreEntry entry) {
+        if (retainedIds.contains(entry.getId())) {
+            return false;
+        }
+        BoundedTopK<HighscoreEntry> top = board(entry.getDifficulty());
+        lastEvicted = null;
+        if (!top.offer(entry)) {
+            return false;
+        }
+        retainedIds.add(entry.getId());
+        bestByPlayer.get(entry.getDifficulty())
+                .merge(entry.getPlayerName(), entry, (old, added) -> added.compareTo(old) < 0 ? added : old);
+
+        LeaderboardList leaderboard = leaderboards.get(entry.getDifficulty());
+        if (leaderboard != null) {
+            leaderboard.entryAdded(top.rankOf(entry), lastEvicted);
         }
+        return true;
+    }
+
+    private BoundedTopK<HighscoreEntry> board(String difficulty) {
+        BoundedTopK<HighscoreEntry> top = highscores.get(difficulty);
+        if (top == null) {
+            Map<String, HighscoreEntry> best = new HashMap<>();
+            bestByPlayer.put(difficulty, best);
+            top = new BoundedTopK<>(topK, Comparator.naturalOrder(), evicted -> {
+                // Fällt der schlechteste Eintrag heraus, hat sein Spieler keinen besseren mehr
+                best.remove(evicted.getPlayerName(), evicted);
+                retainedIds.remove(evicted.getId());
+                lastEvicted = evicted;
+            });
+            highscores.put(difficulty, top);
+        }
+        return top;
+    }
+
+    /**
+     * Gibt die Bestenliste eines Schwierigkeitsgrads als beobachtbare Liste zurück.
+     * Die Liste wird nicht kopiert und meldet neue Einträge einzeln.
+     * @param difficulty Schwierigkeitsgrad
+     * @return Beobachtbare Liste, vom besten zum schlechtesten Eintrag
+     */
+    public LeaderboardList getLeaderboard(String difficulty) {
+        return leaderboards.computeIfAbsent(difficulty, k -> new LeaderboardList(board(k)));
+    }
 
-        highscores.clear();
-        for (List<HighscoreEntry> entries : byDifficulty.values()) {
-            highscores.addAll(entries.subList(0, Math.min(5, entries.size())));
+    /**
+     * Gibt den Platz zurück, den ein Ergebnis unter den gehaltenen Top K einnehmen würde.
+     * Gleich gute vorhandene Einträge stehen davor.
+     * @param difficulty Schwierigkeitsgrad
+     * @param timeInMillis Zeit in Millisekunden
+     * @param attempts Versuche
+     * @return Platz, 1 ist der beste; größer als {@link #getTopK()} heißt nicht platziert
+     */
+    public int getRankInTopK(String difficulty, long timeInMillis, int attempts) {
+        BoundedTopK<HighscoreEntry> top = highscores.get(difficulty);
+        if (top == null) {
+            return 1;
         }
+        return top.rankOf(probe(difficulty, timeInMillis, attempts)) + 1;
+    }
 
-        Collections.sort(highscores);
-        saveHighscores();
+    /**
+     * Gibt an, wie viel Prozent der gehaltenen Top K schlechter sind als das Ergebnis.
+     * Über alle je gespielten Scores sagt der Wert nichts aus.
+     * @param difficulty Schwierigkeitsgrad
+     * @param timeInMillis Zeit in Millisekunden
+     * @param attempts Versuche
+     * @return Perzentil zwischen 0 und 100; 100 bei leerer Liste
+     */
+    public double getPercentileInTopK(String difficulty, long timeInMillis, int attempts) {
+        int count = getEntryCount(difficulty);
+        if (count == 0) {
+            return 100.0;
+        }
+        int better = getRankInTopK(difficulty, timeInMillis, attempts) - 1;
+        return 100.0 * (count - better) / count;
+    }
+
+    /**
+     * Gibt den besten Eintrag eines Spielers unter den gehaltenen Top K zurück.
+     * @param difficulty Schwierigkeitsgrad
+     * @param playerName Spielername
+     * @return Eintrag oder null, wenn der Spieler nicht in den Top K steht
+     */
+    public HighscoreEntry getPlayerBestInTopK(String difficulty, String playerName) {
+        Map<String, HighscoreEntry> best = bestByPlayer.get(difficulty);
+        return best == null ? null : best.get(playerName);
+    }
+
+    /**
+     * Gibt den Platz des besten Eintrags eines Spielers unter den gehaltenen Top K zurück.
+     * @param difficulty Schwierigkeitsgrad
+     * @param playerName Spielername
+     * @return Platz (1 ist der beste) oder 0, wenn der Spieler nicht in den Top K steht
+     */
+    public int getPlayerRankInTopK(String difficulty, String playerName) {
+        HighscoreEntry best = getPlayerBestInTopK(difficulty, playerName);
+        return best == null ? 0 : highscores.get(difficulty).rankOf(best) + 1;
+    }
+
+    /**
+     * Gibt eine Seite der gehaltenen Top K zurück.
+     * @param difficulty Schwierigkeitsgrad
+     * @param page Seite, 0 ist die erste
+     * @param pageSize Einträge pro Seite
+     * @return Einträge der Seite, leer hinter dem Ende
+     */
+    public List<HighscoreEntry> getPageInTopK(String difficulty, int page, int pageSize) {
+        int from = page * pageSize;
+        int count = getEntryCount(difficulty);
+        if (from >= count) {
+            return List.of();
+        }
+        List<HighscoreEntry> result = new ArrayList<>(Math.min(pageSize, count - from));
+        Iterator<HighscoreEntry> it = highscores.get(difficulty).iterator(from);
+        while (it.hasNext() && result.size() < pageSize) {
+            result.add(it.next());
+        }
+        return result;
+    }
+
+    /**
+     * Gibt die Anzahl gehaltener Einträge eines Schwierigkeitsgrads zurück.
+     * @param difficulty Schwierigkeitsgrad
+     * @return Anzahl
+     */
+    public int getEntryCount(String difficulty) {
+        BoundedTopK<HighscoreEntry> top = highscores.get(difficulty);
+        return top == null ? 0 : top.size();
+    }
+
+    // Vergleichswert, der hinter allen gleich guten vorhandenen Einträgen einsortiert wird
+    private static HighscoreEntry probe(String difficulty, long timeInMillis, int attempts) {
+        return new HighscoreEntry("", difficulty, timeInMillis, attempts, Long.MAX_VALUE, 0);
+    }
+
+    /**
+     * Gibt die Anzahl gehaltener Einträge pro Schwierigkeitsgrad zurück.
+     * @return K
+     */
+    public int getTopK() {
+        return topK;
     }
 
     /**
@@ -53,29 +301,26 @@ public class HighscoreManager {
      * @return Formatierter Highscore-Text.
      */
     public String getFormattedHighscores() {
-        if (highscores.isEmpty()) {
-            return "No high scores yet!";
-        }
-
         StringBuilder sb = new StringBuilder();
-        String currentDifficulty = "";
-
-        for (HighscoreEntry entry : highscores) {
-            if (!entry.getDifficulty().equals(currentDifficulty)) {
-                if (!currentDifficulty.isEmpty()) {
-                    sb.append("\n");
-                }
-                currentDifficulty = entry.getDifficulty();
-                sb.append(currentDifficulty).append(":\n");
+
+        for (Map.Entry<String, BoundedTopK<HighscoreEntry>> group : highscores.entrySet()) {
+            if (group.getValue().size() == 0) {
+                continue;
             }
+            if (sb.length() > 0) {
+                sb.append("\n");
+            }
+            sb.append(group.getKey()).append(":\n");
 
-            sb.append(String.format("  %s - %s (%d attempts)\n",
-                    entry.getPlayerName(),
-                    formatTime(entry.getTimeInSeconds()),
-                    entry.getAttempts()));
+            for (HighscoreEntry entry : group.getValue()) {
+                sb.append(String.format("  %s - %s (%d attempts)\n",
+                        entry.getPlayerName(),
+                        entry.getFormattedTime(),
+                        entry.getAttempts()));
+            }
         }
 
-        return sb.toString();
+        return sb.length() == 0 ? "No high scores yet!" : sb.toString();
     }
 
     /**
@@ -83,67 +328,135 @@ public class HighscoreManager {
      * @param seconds Sekunden
      * @return Formatierte Zeit
      */
-    private String formatTime(long seconds) {
+    static String formatTime(long seconds) {
         long minutes = seconds / 60;
         long remainingSeconds = seconds % 60;
         return String.format("%02d:%02d", minutes, remainingSeconds);
     }
 
     /**
-     * Lädt Highscores aus Datei.
+     * Lädt Highscores aus Snapshot und Journal.
      */
     private void loadHighscores() {
-        try (BufferedReader reader = new BufferedReader(new FileReader(HIGHSCORE_FILE))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                String[] parts = line.split(",");
-                if (parts.length == 4) {
-                    String name = parts[0];
-                    String difficulty = parts[1];
-                    long time = Long.parseLong(parts[2]);
-                    int attempts = Integer.parseInt(parts[3]);
-                    highscores.add(new HighscoreEntry(name, difficulty, time, attempts));
-                }
-            }
-            Collections.sort(highscores);
+        try {
+            journal.load(this::parseLine);
         } catch (IOException e) {
-            // Datei existiert noch nicht
+            System.err.println("Could not load high scores: " + e.getMessage());
+        }
+    }
+
+    private void parseLine(String line) {
+        HighscoreEntry entry = parseEntry(line, nextSequence);
+        if (entry != null) {
+            nextSequence++;
+            offer(entry);
         }
     }
 
     /**
-     * Speichert Highscores in Datei.
+     * Liest eine Zeile. Beschädigte Zeilen (z.B. abgerissen oder von Hand bearbeitet)
+     * ergeben null und werden übersprungen, statt Laden oder Kompaktieren abzubrechen.
      */
-    private void saveHighscores() {
-        try (PrintWriter writer = new PrintWriter(new FileWriter(HIGHSCORE_FILE))) {
-            for (HighscoreEntry entry : highscores) {
-                writer.println(entry.getPlayerName() + "," +
-                        entry.getDifficulty() + "," +
-                        entry.getTimeInSeconds() + "," +
-                        entry.getAttempts());
+    static HighscoreEntry parseEntry(String line, long sequence) {
+        String[] parts = line.split(",");
+        if (parts.length < 4 || parts.length > 6) {
+            return null;
+        }
+        String name = parts[0];
+        String difficulty = parts[1];
+        try {
+            // Ältere Dateien haben nur Sekunden, neuere zusätzlich Millisekunden und eine ID
+            long timeInMillis = parts.length >= 5
+                    ? Long.parseLong(parts[4])
+                    : Long.parseLong(parts[2]) * 1000L;
+            int attempts = Integer.parseInt(parts[3]);
+            // Zeilen ohne ID bekommen eine aus ihrem Inhalt, damit sie in jeder Instanz gleich ist
+            long id = parts.length == 6 ? Long.parseLong(parts[5]) : hash(line);
+            return new HighscoreEntry(name, difficulty, timeInMillis, attempts, sequence, id);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String toLine(HighscoreEntry entry) {
+        return entry.getPlayerName() + "," +
+                entry.getDifficulty() + "," +
+                entry.getTimeInSeconds() + "," +
+                entry.getAttempts() + "," +
+                entry.getTimeInMillis() + "," +
+                entry.getId();
+    }
+
+    /**
+     * Fasst die Zeilen aller Instanzen zum Inhalt eines neuen Snapshots zusammen:
+     * doppelte IDs fallen weg, pro Schwierigkeitsgrad bleiben die besten {@code topK}.
+     * Läuft auf dem Schreib-Thread und nutzt deshalb keinen Zustand des Managers.
+     */
+    private static List<String> compactLines(List<String> lines, int topK) {
+        Set<Long> seen = new HashSet<>();
+        Map<String, BoundedTopK<HighscoreEntry>> groups =
+                new TreeMap<>(Comparator.comparingInt(HighscoreManager::getDifficultyOrder)
+                        .thenComparing(Comparator.naturalOrder()));
+        long sequence = 0;
+        for (String line : lines) {
+            HighscoreEntry entry = parseEntry(line, sequence++);
+            if (entry != null && seen.add(entry.getId())) {
+                groups.computeIfAbsent(entry.getDifficulty(), k -> new BoundedTopK<>(topK, Comparator.naturalOrder()))
+                        .offer(entry);
             }
-        } catch (IOException e) {
-            System.err.println("Could not save high scores: " + e.getMessage());
+        }
+        List<String> result = new ArrayList<>();
+        for (BoundedTopK<HighscoreEntry> group : groups.values()) {
+            for (HighscoreEntry entry : group) {
+                result.add(toLine(entry));
+            }
+        }
+        return result;
+    }
+
+    // FNV-1a, 64 Bit
+    static long hash(String line) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < line.length(); i++) {
+            hash ^= line.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    static int getDifficultyOrder(String difficulty) {
+        switch (difficulty) {
+            case "Einfach": return 1;
+            case "Mittel": return 2;
+            case "Schwer": return 3;
+            case "Riesig": return 4;
+            default: return 5;
         }
     }
 
     /**
      * Repräsentiert einen Highscore-Eintrag.
      */
-    private static class HighscoreEntry implements Comparable<HighscoreEntry> {
-        private String playerName;
-        private String difficulty;
-        private long timeInSeconds;
-        private int attempts;
+    public static class HighscoreEntry implements Comparable<HighscoreEntry> {
+        private final String playerName;
+        private final String difficulty;
+        private final long timeInMillis;
+        private final int attempts;
+        private final long sequence;
+        private final long id;
+        // Erst beim ersten Anzeigen formatiert und dann behalten
+        private String formattedTime;
 
         /**
          * Konstruktor.
          */
-        public HighscoreEntry(String playerName, String difficulty, long timeInSeconds, int attempts) {
+        public HighscoreEntry(String playerName, String difficulty, long timeInMillis, int attempts, long sequence, long id) {
             this.playerName = playerName;
             this.difficulty = difficulty;
-            this.timeInSeconds = timeInSeconds;
+            this.timeInMillis = timeInMillis;
             this.attempts = attempts;
+            this.sequence = sequence;
+            this.id = id;
         }
 
         @Override
@@ -155,22 +468,36 @@ public class HighscoreManager {
             }
 
             // Then by time (ascending)
-            return Long.compare(this.timeInSeconds, other.timeInSeconds);
-        }
+            int timeComparison = Long.compare(this.timeInMillis, other.timeInMillis);
+            if (timeComparison != 0) {
+                return timeComparison;
+            }
 
-        private int getDifficultyOrder(String difficulty) {
-            switch (difficulty) {
-                case "Einfach": return 1;
-                case "Mittel": return 2;
-                case "Schwer": return 3;
-                default: return 4;
+            // Then by attempts (ascending); on a full tie the earlier score wins
+            int attemptsComparison = Integer.compare(this.attempts, other.attempts);
+            if (attemptsComparison != 0) {
+                return attemptsComparison;
             }
+            return Long.compare(this.sequence, other.sequence);
         }
 
         // Getters
         public String getPlayerName() { return playerName; }
         public String getDifficulty() { return difficulty; }
-        public long getTimeInSeconds() { return timeInSeconds; }
+        public long getTimeInSeconds() { return timeInMillis / 1000L; }
+        public long getTimeInMillis() { return timeInMillis; }
         public int getAttempts() { return attempts; }
+        public long getId() { return id; }
+
+        /**
+         * Gibt die Zeit als mm:ss zurück; der Text wird nur einmal erzeugt.
+         * @return Formatierte Zeit
+         */
+        public String getFormattedTime() {
+            if (formattedTime == null) {
+                formattedTime = formatTime(getTimeInSeconds());
+            }
+            return formattedTime;
+        }
     }
 }
\ No newline at end of file
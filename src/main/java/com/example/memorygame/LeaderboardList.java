@@ -0,0 +1,49 @@
+package com.example.memorygame;
+
+import javafx.collections.ObservableListBase;
+
+/**
+ * Beobachtbare Sicht auf die Bestenliste eines Schwierigkeitsgrads.
+ * <p>
+ * Die Liste kopiert nichts: {@link #get} und {@link #size} lesen direkt aus der
+ * {@link BoundedTopK}-Liste des {@link HighscoreManager}. Neue Einträge melden
+ * sich als einzelne Änderung (eingefügt, ggf. letzter entfernt), sodass eine
+ * {@code TableView} nur die betroffenen sichtbaren Zeilen neu zeichnet.
+ */
+public class LeaderboardList extends ObservableListBase<HighscoreManager.HighscoreEntry> {
+
+    private final BoundedTopK<HighscoreManager.HighscoreEntry> entries;
+
+    /**
+     * Konstruktor.
+     * @param entries Zugrunde liegende Bestenliste
+     */
+    LeaderboardList(BoundedTopK<HighscoreManager.HighscoreEntry> entries) {
+        this.entries = entries;
+    }
+
+    @Override
+    public HighscoreManager.HighscoreEntry get(int index) {
+        return entries.get(index);
+    }
+
+    @Override
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Meldet einen neu aufgenommenen Eintrag.
+     * @param rank Platz des neuen Eintrags (0-basiert)
+     * @param evicted Herausgefallener Eintrag oder null
+     */
+    void entryAdded(int rank, HighscoreManager.HighscoreEntry evicted) {
+        beginChange();
+        nextAdd(rank, rank + 1);
+        if (evicted != null) {
+            // Der schlechteste stand nach dem Einfügen ganz hinten
+            nextRemove(entries.size(), evicted);
+        }
+        endChange();
+    }
+}
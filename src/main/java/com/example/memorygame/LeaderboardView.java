@@ -0,0 +1,121 @@
+package com.example.memorygame;
+
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.*;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+
+/**
+ * Bestenliste als {@link TableView} mit einem Tab pro Schwierigkeitsgrad.
+ * <p>
+ * Die Tabellen hängen direkt an den {@link LeaderboardList}-Sichten des
+ * {@link HighscoreManager}. Die Ansicht wird einmal aufgebaut und danach nur
+ * wieder angezeigt; gezeichnet werden nur die sichtbaren Zeilen, unabhängig
+ * davon, wie viele Einträge die Liste hat. Der Manager hält ohnehin nur die
+ * besten {@link HighscoreManager#getTopK()} pro Schwierigkeitsgrad, nicht
+ * jeden je gespielten Score.
+ */
+public class LeaderboardView {
+
+    private static final String[] DIFFICULTIES = {"Einfach", "Mittel", "Schwer", "Riesig"};
+
+    private final HighscoreManager highscoreManager;
+    private final Runnable onBack;
+    private VBox root;
+    private TabPane tabPane;
+
+    /**
+     * Konstruktor.
+     * @param highscoreManager Highscoremanager
+     * @param onBack Aktion für den Zurück-Button
+     */
+    public LeaderboardView(HighscoreManager highscoreManager, Runnable onBack) {
+        this.highscoreManager = highscoreManager;
+        this.onBack = onBack;
+    }
+
+    /**
+     * Gibt die Ansicht zurück und baut sie beim ersten Aufruf auf.
+     * @return Wurzelknoten
+     */
+    public VBox getPane() {
+        if (root == null) {
+            root = createPane();
+        }
+        return root;
+    }
+
+    /**
+     * Wählt den Tab eines Schwierigkeitsgrads aus.
+     * @param difficulty Schwierigkeitsgrad
+     */
+    public void select(String difficulty) {
+        getPane();
+        for (Tab tab : tabPane.getTabs()) {
+            if (tab.getText().equals(difficulty)) {
+                tabPane.getSelectionModel().select(tab);
+            }
+        }
+    }
+
+    private VBox createPane() {
+        Label titleLabel = new Label("High Scores");
+        titleLabel.setStyle("-fx-font-size: 24px; -fx-font-weight: bold; -fx-text-fill: #ffffff;");
+
+        tabPane = new TabPane();
+        tabPane.setTabClosingPolicy(TabPane.TabClosingPolicy.UNAVAILABLE);
+        for (String difficulty : DIFFICULTIES) {
+            tabPane.getTabs().add(new Tab(difficulty, createTable(difficulty)));
+        }
+        VBox.setVgrow(tabPane, Priority.ALWAYS);
+
+        Button backButton = new Button("Back");
+        backButton.setOnAction(e -> onBack.run());
+
+        VBox pane = new VBox(20, titleLabel, tabPane, backButton);
+        pane.setPadding(new Insets(30));
+        pane.setAlignment(Pos.CENTER);
+        return pane;
+    }
+
+    private TableView<HighscoreManager.HighscoreEntry> createTable(String difficulty) {
+        TableView<HighscoreManager.HighscoreEntry> table = new TableView<>(highscoreManager.getLeaderboard(difficulty));
+        table.setPlaceholder(new Label("No high scores yet!"));
+        table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY_FLEX_LAST_COLUMN);
+        // Feste Zeilenhöhe, damit das Scrollen nicht jede Zeile vermessen muss
+        table.setFixedCellSize(28);
+
+        // Platz ergibt sich aus der Zeilenposition und wird nicht gespeichert
+        TableColumn<HighscoreManager.HighscoreEntry, HighscoreManager.HighscoreEntry> rankColumn = new TableColumn<>("#");
+        rankColumn.setCellValueFactory(data -> new ReadOnlyObjectWrapper<>(data.getValue()));
+        rankColumn.setCellFactory(column -> new TableCell<>() {
+            @Override
+            protected void updateItem(HighscoreManager.HighscoreEntry item, boolean empty) {
+                super.updateItem(item, empty);
+                setText(empty || item == null ? null : Integer.toString(getIndex() + 1));
+            }
+        });
+
+        TableColumn<HighscoreManager.HighscoreEntry, String> nameColumn = new TableColumn<>("Player");
+        nameColumn.setCellValueFactory(data -> new ReadOnlyObjectWrapper<>(data.getValue().getPlayerName()));
+
+        TableColumn<HighscoreManager.HighscoreEntry, String> timeColumn = new TableColumn<>("Time");
+        timeColumn.setCellValueFactory(data -> new ReadOnlyObjectWrapper<>(data.getValue().getFormattedTime()));
+
+        TableColumn<HighscoreManager.HighscoreEntry, Integer> attemptsColumn = new TableColumn<>("Attempts");
+        attemptsColumn.setCellValueFactory(data -> new ReadOnlyObjectWrapper<>(data.getValue().getAttempts()));
+
+        table.getColumns().add(rankColumn);
+        table.getColumns().add(nameColumn);
+        table.getColumns().add(timeColumn);
+        table.getColumns().add(attemptsColumn);
+        // Die Liste ist bereits sortiert; Umsortieren würde alle Einträge kopieren
+        for (TableColumn<HighscoreManager.HighscoreEntry, ?> column : table.getColumns()) {
+            column.setSortable(false);
+            column.setReorderable(false);
+        }
+        return table;
+    }
+}
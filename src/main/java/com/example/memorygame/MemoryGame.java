@@ -1,6 +1,7 @@
 package com.example.memorygame;
 
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.scene.Scene;
 import javafx.scene.control.TextInputDialog;
 import javafx.stage.Stage;
@@ -13,23 +14,40 @@ public class MemoryGame extends Application {
     private Scene gameScene;
     private Scene startScene;
     private Scene musicScene;
+    private Scene leaderboardScene;
+    private LeaderboardView leaderboardView;
 
     // Game components
     private GameController gameController;
     private MusicManager musicManager;
     private StartPageController startPageController;
     private HighscoreManager highscoreManager;
+    private PlayerProfileStore profileStore;
+    private SoundEffects soundEffects;
+    private TimingWheel scheduler;
+
+    // Start-to-first-frame metric for games started from the main menu;
+    // printed only with -Dmemorygame.logStartup=true
+    private static final boolean LOG_STARTUP = Boolean.getBoolean("memorygame.logStartup");
+    private long gameStartNanos;
+    private long lastGameStartupNanos;
 
     @Override
     public void start(Stage primaryStage) {
         this.primaryStage = primaryStage;
 
         // Initialize managers and controllers
-        this.musicManager = new MusicManager();
+        // Effekte vorab dekodieren, damit der erste Klick ohne Verzögerung klingt
+        this.soundEffects = new SoundEffects();
+        this.musicManager = new MusicManager(soundEffects);
         this.musicManager.setMainApp(this); // Set the main app reference
         this.highscoreManager = new HighscoreManager();
-        this.gameController = new GameController(this, musicManager, highscoreManager);
-        this.startPageController = new StartPageController(this, musicManager, highscoreManager);
+        // Historie im Hintergrund lesen, der Start wartet nicht darauf
+        this.profileStore = new PlayerProfileStore();
+        this.profileStore.loadAsync();
+        this.scheduler = TimingWheel.fxDriven();
+        this.gameController = new GameController(this, musicManager, highscoreManager, profileStore, soundEffects, scheduler);
+        this.startPageController = new StartPageController(this, musicManager, highscoreManager, profileStore);
 
         // Create scenes
         createStartScene();
@@ -50,14 +68,35 @@ public class MemoryGame extends Application {
         if (musicManager != null) {
             musicManager.cleanup();
         }
+        if (soundEffects != null) {
+            soundEffects.stopAll();
+        }
         if (gameController != null) {
             gameController.cleanup();
         }
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+        if (highscoreManager != null) {
+            highscoreManager.close();
+        }
+        if (profileStore != null) {
+            profileStore.close();
+        }
         System.out.println("Application terminated. Resources cleaned up.");
     }
 
+    /**
+     * Lädt das Dark-Mode-Stylesheet, in dem auch die Spielfeld-Zellen gestaltet sind.
+     * @param scene Szene
+     */
+    private void applyStylesheet(Scene scene) {
+        scene.getStylesheets().add(getClass().getResource("/dark-mode.css").toExternalForm());
+    }
+
     private void createStartScene() {
         startScene = new Scene(startPageController.createStartPage(), 800, 600);
+        applyStylesheet(startScene);
         // Apply dark mode styling
         startScene.getRoot().setStyle("-fx-background-color: #2b2b2b;");
 
@@ -75,6 +114,8 @@ public class MemoryGame extends Application {
 
     private void createGameScene() {
         gameScene = new Scene(gameController.createGamePane(), 800, 600);
+        applyStylesheet(gameScene);
+        gameScene.addPostLayoutPulseListener(this::onGameScenePulse);
         gameScene.getRoot().setStyle("-fx-background-color: #2b2b2b;");
 
         // Add keyboard shortcuts for game scene
@@ -197,11 +238,43 @@ public class MemoryGame extends Application {
 
     // Scene switching methods
     public void switchToGameView(String playerName, String difficulty) {
-        gameController.initializeGame(playerName, difficulty);
+        switchToGameView(playerName, difficulty, BoardGenerator.randomSeed());
+    }
+
+    /**
+     * Wechselt zur Spielansicht mit einem festen Spielfeld.
+     * @param playerName Spielername
+     * @param difficulty Schwierigkeitsgrad
+     * @param seed Seed des Spielfelds
+     */
+    public void switchToGameView(String playerName, String difficulty, long seed) {
+        gameStartNanos = System.nanoTime();
+        gameController.initializeGame(playerName, difficulty, seed);
         primaryStage.setScene(gameScene);
         primaryStage.setTitle("Memory Game - " + playerName + " (" + difficulty + ")");
     }
 
+    /**
+     * Misst nach dem ersten Layout-Durchlauf des Spiels die Zeit seit dem Start aus dem Hauptmenü.
+     */
+    private void onGameScenePulse() {
+        if (gameStartNanos != 0) {
+            lastGameStartupNanos = System.nanoTime() - gameStartNanos;
+            gameStartNanos = 0;
+            if (LOG_STARTUP) {
+                System.out.printf("Game start to first frame: %.1f ms%n", lastGameStartupNanos / 1_000_000.0);
+            }
+        }
+    }
+
+    /**
+     * Gibt die zuletzt gemessene Zeit vom Spielstart bis zum ersten Frame zurück.
+     * @return Nanosekunden
+     */
+    public long getLastGameStartupNanos() {
+        return lastGameStartupNanos;
+    }
+
     public void switchToStartView() {
         primaryStage.setScene(startScene);
         primaryStage.setTitle("Memory Game");
@@ -210,6 +283,7 @@ public class MemoryGame extends Application {
     public void showMusicManager() {
         // Always create a new scene to ensure the back button works
         musicScene = new Scene(musicManager.createMusicPane(), 800, 600);
+        applyStylesheet(musicScene);
         musicScene.getRoot().setStyle("-fx-background-color: #2b2b2b;");
 
         // Add keyboard shortcuts for music scene
@@ -233,6 +307,31 @@ public class MemoryGame extends Application {
         primaryStage.setTitle("Memory Game - Music Manager");
     }
 
+    /**
+     * Zeigt die Bestenliste. Die Szene wird nur beim ersten Mal aufgebaut.
+     * @param difficulty Schwierigkeitsgrad, dessen Tab ausgewählt wird
+     */
+    public void showLeaderboard(String difficulty) {
+        if (leaderboardScene == null) {
+            leaderboardView = new LeaderboardView(highscoreManager, this::switchToStartView);
+            leaderboardScene = new Scene(leaderboardView.getPane(), 800, 600);
+            applyStylesheet(leaderboardScene);
+            leaderboardScene.getRoot().setStyle("-fx-background-color: #2b2b2b;");
+            leaderboardScene.setOnKeyPressed(event -> {
+                if (event.getCode() == KeyCode.ESCAPE) {
+                    switchToStartView();
+                    event.consume();
+                }
+            });
+        }
+        leaderboardView.select(difficulty);
+        primaryStage.setScene(leaderboardScene);
+        primaryStage.setTitle("Memory Game - High Scores");
+        // Scores anderer laufender Instanzen im Hintergrund lesen; die Tabellen zeigen
+        // neue Einträge an, sobald sie auf dem FX-Thread übernommen sind
+        highscoreManager.refreshAsync(Platform::runLater, () -> { });
+    }
+
     public Stage getPrimaryStage() {
         return primaryStage;
     }
@@ -0,0 +1,173 @@
+package com.example.memorygame;
+
+import javafx.concurrent.Task;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Importiert Musikdateien im Hintergrund in das Musikverzeichnis.
+ * <p>
+ * Jede Datei wird zuerst gehasht; steht der Inhalt schon im
+ * {@link MusicLibraryIndex} oder kam er in derselben Auswahl schon vor, wird
+ * nichts kopiert. Sonst wird per {@link FileChannel#transferTo} in eine
+ * {@code .part}-Datei kopiert, die der Scanner nicht beachtet, und diese danach
+ * umbenannt und mit dem schon berechneten Hash in den Index eingetragen.
+ * Höchstens {@link #PARALLELISM} Dateien werden gleichzeitig bearbeitet.
+ * <p>
+ * Der Fortschritt zählt gelesene Bytes (Hashen und Kopieren). Abbrechen wirkt
+ * zwischen zwei Blöcken; halb kopierte Dateien werden gelöscht.
+ */
+public class MusicImportTask extends Task<MusicImportTask.Result> {
+
+    static final int PARALLELISM = 2;
+    // Blockgröße für transferTo, damit Fortschritt und Abbruch zwischendurch greifen
+    private static final long CHUNK = 8L * 1024 * 1024;
+
+    private final List<Path> sources;
+    private final Path targetDirectory;
+    private final MusicLibraryIndex index;
+    private final AtomicLong done = new AtomicLong();
+    private final Set<String> claimedHashes = ConcurrentHashMap.newKeySet();
+    private final Set<Path> claimedTargets = ConcurrentHashMap.newKeySet();
+    private long total;
+
+    /**
+     * Ergebnis eines Imports.
+     */
+    public static class Result {
+        private final List<Path> added = Collections.synchronizedList(new ArrayList<>());
+        private final List<Path> duplicates = Collections.synchronizedList(new ArrayList<>());
+        private final List<Path> existing = Collections.synchronizedList(new ArrayList<>());
+        private final List<Path> failed = Collections.synchronizedList(new ArrayList<>());
+
+        /** Kopierte Dateien. */
+        public List<Path> getAdded() { return added; }
+        /** Dateien, deren Inhalt schon in der Bibliothek ist. */
+        public List<Path> getDuplicates() { return duplicates; }
+        /** Dateien, deren Name im Musikverzeichnis schon belegt ist. */
+        public List<Path> getExisting() { return existing; }
+        /** Dateien, die nicht gelesen oder kopiert werden konnten. */
+        public List<Path> getFailed() { return failed; }
+    }
+
+    /**
+     * Konstruktor.
+     * @param sources Ausgewählte Dateien
+     * @param targetDirectory Musikverzeichnis
+     * @param index Bibliotheksindex für die Duplikatprüfung
+     */
+    public MusicImportTask(List<Path> sources, Path targetDirectory, MusicLibraryIndex index) {
+        this.sources = List.copyOf(sources);
+        this.targetDirectory = targetDirectory;
+        this.index = index;
+    }
+
+    @Override
+    protected Result call() throws Exception {
+        for (Path source : sources) {
+            try {
+                total += 2 * Files.size(source);
+            } catch (IOException e) {
+                // Fällt beim Import selbst als Fehler auf
+            }
+        }
+        updateProgress(0, Math.max(total, 1));
+
+        Result result = new Result();
+        ExecutorService workers = Executors.newFixedThreadPool(PARALLELISM, runnable -> {
+            Thread thread = new Thread(runnable, "music-import");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> jobs = new ArrayList<>();
+            for (Path source : sources) {
+                jobs.add(workers.submit(() -> importFile(source, result)));
+            }
+            for (Future<?> job : jobs) {
+                try {
+                    job.get();
+                } catch (ExecutionException e) {
+                    if (!isCancelled()) {
+                        throw e;
+                    }
+                }
+                if (isCancelled()) {
+                    break;
+                }
+            }
+        } finally {
+            workers.shutdownNow();
+            // Abgebrochene Kopien räumen die Worker selbst auf
+            workers.awaitTermination(5, TimeUnit.SECONDS);
+        }
+        return result;
+    }
+
+    private void importFile(Path source, Result result) {
+        if (isCancelled()) {
+            return;
+        }
+        Path target = targetDirectory.resolve(source.getFileName().toString());
+        Path part = targetDirectory.resolve(source.getFileName() + ".part");
+        try {
+            long size = Files.size(source);
+            updateMessage("Prüfe " + source.getFileName());
+            String hash = MusicLibraryIndex.hash(source);
+            advance(size);
+            if (index.findByHash(hash) != null || !claimedHashes.add(hash)) {
+                result.getDuplicates().add(source);
+                advance(size);
+                return;
+            }
+            // Gleicher Name aus verschiedenen Ordnern: nur die erste Datei wird kopiert
+            if (Files.exists(target) || !claimedTargets.add(target)) {
+                result.getExisting().add(source);
+                advance(size);
+                return;
+            }
+
+            updateMessage("Kopiere " + source.getFileName());
+            try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+                 FileChannel out = FileChannel.open(part, StandardOpenOption.CREATE,
+                         StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                long position = 0;
+                while (position < size) {
+                    if (isCancelled() || Thread.currentThread().isInterrupted()) {
+                        throw new CancellationException();
+                    }
+                    long copied = in.transferTo(position, Math.min(CHUNK, size - position), out);
+                    if (copied <= 0) {
+                        break;
+                    }
+                    position += copied;
+                    advance(copied);
+                }
+            }
+            Files.move(part, target, StandardCopyOption.ATOMIC_MOVE);
+            // Hash schon bekannt: der Scanner soll die Kopie nicht noch einmal lesen
+            index.record(target, hash);
+            result.getAdded().add(source);
+        } catch (IOException e) {
+            result.getFailed().add(source);
+        } finally {
+            try {
+                Files.deleteIfExists(part);
+            } catch (IOException e) {
+                System.err.println("Could not delete " + part + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private void advance(long bytes) {
+        updateProgress(done.addAndGet(bytes), Math.max(total, 1));
+    }
+}
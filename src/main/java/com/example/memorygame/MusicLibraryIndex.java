@@ -0,0 +1,354 @@
+package com.example.memorygame;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * Dauerhafter Index der Musikbibliothek in {@code playlist.ser}.
+ * <p>
+ * Pro Datei werden Pfad, Größe, Änderungszeit, Dauer, Titel und Interpret
+ * sowie ein SHA-256-Hash des Inhalts gespeichert. Stimmen Größe und
+ * Änderungszeit mit dem Index überein, gilt die Datei als unverändert und wird
+ * weder gehasht noch erneut abgetastet. Über den Hash werden doppelte Importe
+ * erkannt.
+ * <p>
+ * Aufbau der Datei (Big Endian, {@link DataOutputStream}):
+ * <pre>
+ * Kopf      magic "MGML", version, count
+ * Einträge  path, size, mtime, durationMillis, title, artist, hash
+ * </pre>
+ * Dateien mit anderem Kopf, etwa die frühere serialisierte Liste, werden
+ * ignoriert und der Index neu aufgebaut. Alle Methoden sind threadsicher.
+ */
+public class MusicLibraryIndex {
+
+    private static final String INDEX_FILE = "playlist.ser";
+    private static final int MAGIC = 0x4D474D4C; // "MGML"
+    private static final int VERSION = 1;
+    // Obergrenze für Titel und Interpret; writeUTF erlaubt höchstens 64 KB
+    static final int MAX_TEXT_LENGTH = 1024;
+
+    private final Path indexFile;
+    private final Map<String, Entry> entries = new HashMap<>();
+    // Alle Einträge je Hash, der erste vertritt den Inhalt; so kostet Entfernen nicht O(n)
+    private final Map<String, List<Entry>> byHash = new HashMap<>();
+    private boolean dirty;
+
+    /**
+     * Ein Eintrag des Index.
+     */
+    public static class Entry {
+        private final String path;
+        private final long size;
+        private final long modified;
+        private final long durationMillis;
+        private final String title;
+        private final String artist;
+        private final String hash;
+
+        /**
+         * Konstruktor.
+         */
+        public Entry(String path, long size, long modified, long durationMillis, String title, String artist, String hash) {
+            this.path = path;
+            this.size = size;
+            this.modified = modified;
+            this.durationMillis = durationMillis;
+            this.title = title;
+            this.artist = artist;
+            this.hash = hash;
+        }
+
+        // Getters
+        public String getPath() { return path; }
+        public long getSize() { return size; }
+        public long getModified() { return modified; }
+        public long getDurationMillis() { return durationMillis; }
+        public String getTitle() { return title; }
+        public String getArtist() { return artist; }
+        public String getHash() { return hash; }
+
+        /**
+         * Gibt an, ob die Metadaten bereits ausgelesen wurden.
+         * @return true, wenn die Dauer bekannt ist
+         */
+        public boolean isProbed() {
+            return durationMillis >= 0;
+        }
+
+        /**
+         * Gibt den Anzeigenamen zurück: "Interpret - Titel", sonst der Dateiname.
+         * @return Anzeigename
+         */
+        public String getDisplayName() {
+            if (title.isEmpty()) {
+                return Path.of(path).getFileName().toString();
+            }
+            return artist.isEmpty() ? title : artist + " - " + title;
+        }
+    }
+
+    /**
+     * Konstruktor. Nutzt die Standarddatei.
+     */
+    public MusicLibraryIndex() {
+        this(Path.of(INDEX_FILE));
+    }
+
+    /**
+     * Konstruktor.
+     * @param indexFile Pfad der Indexdatei
+     */
+    public MusicLibraryIndex(Path indexFile) {
+        this.indexFile = indexFile;
+    }
+
+    /**
+     * Lädt den Index. Fehlt die Datei oder hat sie ein anderes Format, bleibt er leer.
+     */
+    public synchronized void load() {
+        entries.clear();
+        byHash.clear();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                put(new Entry(in.readUTF(), in.readLong(), in.readLong(), in.readLong(),
+                        in.readUTF(), in.readUTF(), in.readUTF()));
+            }
+        } catch (NoSuchFileException e) {
+            // Noch kein Index
+        } catch (IOException e) {
+            System.err.println("Could not load music library index: " + e.getMessage());
+            entries.clear();
+            byHash.clear();
+        }
+        dirty = false;
+    }
+
+    /**
+     * Schreibt den Index, falls er sich geändert hat, über eine temporäre Datei.
+     */
+    public synchronized void save() {
+        if (!dirty) {
+            return;
+        }
+        Path tmp = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(entries.size());
+            for (Entry entry : entries.values()) {
+                out.writeUTF(entry.getPath());
+                out.writeLong(entry.getSize());
+                out.writeLong(entry.getModified());
+                out.writeLong(entry.getDurationMillis());
+                out.writeUTF(entry.getTitle());
+                out.writeUTF(entry.getArtist());
+                out.writeUTF(entry.getHash());
+            }
+        } catch (IOException e) {
+            System.err.println("Could not save music library index: " + e.getMessage());
+            return;
+        }
+        try {
+            Files.move(tmp, indexFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            dirty = false;
+        } catch (IOException e) {
+            System.err.println("Could not save music library index: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Bringt den Eintrag einer Datei auf den aktuellen Stand. Bei unveränderter
+     * Größe und Änderungszeit wird der vorhandene Eintrag zurückgegeben, sonst
+     * wird der Inhalt gehasht und die Metadaten gelten als unbekannt.
+     * Sollte nicht auf dem FX-Thread aufgerufen werden.
+     * @param file Musikdatei
+     * @return Eintrag oder null, wenn die Datei nicht lesbar ist
+     */
+    public Entry refresh(Path file) {
+        return update(file, null);
+    }
+
+    /**
+     * Trägt eine gerade importierte Datei mit dem beim Import berechneten Hash
+     * ein. Der Scanner findet danach Größe und Änderungszeit vor und hasht die
+     * Datei nicht erneut. Ein aktueller Eintrag bleibt unverändert.
+     * @param file Musikdatei
+     * @param hash SHA-256 des Inhalts als Hex-String
+     * @return Eintrag oder null, wenn die Datei nicht lesbar ist
+     */
+    public Entry record(Path file, String hash) {
+        return update(file, hash);
+    }
+
+    private Entry update(Path file, String knownHash) {
+        String path = file.toString();
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (IOException e) {
+            return null;
+        }
+        long size = attributes.size();
+        long modified = attributes.lastModifiedTime().toMillis();
+        synchronized (this) {
+            Entry known = entries.get(path);
+            if (known != null && known.getSize() == size && known.getModified() == modified) {
+                return known;
+            }
+        }
+        // Hashen ohne Sperre, damit Abfragen nicht warten
+        String hash = knownHash;
+        if (hash == null) {
+            try {
+                hash = hash(file);
+            } catch (IOException e) {
+                return null;
+            }
+        }
+        Entry entry = new Entry(path, size, modified, -1, "", "", hash);
+        synchronized (this) {
+            remove(path);
+            put(entry);
+            dirty = true;
+        }
+        return entry;
+    }
+
+    /**
+     * Trägt die beim Abspielen ermittelten Metadaten ein.
+     * @param path Pfad wie im Eintrag
+     * @param durationMillis Dauer in Millisekunden
+     * @param title Titel oder leer
+     * @param artist Interpret oder leer
+     * @return Neuer Eintrag oder null, wenn die Datei nicht im Index steht
+     */
+    public synchronized Entry setMetadata(String path, long durationMillis, String title, String artist) {
+        Entry old = entries.get(path);
+        if (old == null) {
+            return null;
+        }
+        Entry entry = new Entry(path, old.getSize(), old.getModified(), Math.max(0, durationMillis),
+                limit(title), limit(artist), old.getHash());
+        remove(path);
+        put(entry);
+        dirty = true;
+        return entry;
+    }
+
+    /**
+     * Gibt den Eintrag einer Datei zurück.
+     * @param path Pfad
+     * @return Eintrag oder null
+     */
+    public synchronized Entry get(String path) {
+        return entries.get(path);
+    }
+
+    /**
+     * Sucht eine Datei mit gleichem Inhalt.
+     * @param hash SHA-256 als Hex-String
+     * @return Eintrag oder null
+     */
+    public synchronized Entry findByHash(String hash) {
+        List<Entry> sameContent = byHash.get(hash);
+        return sameContent == null ? null : sameContent.get(0);
+    }
+
+    /**
+     * Entfernt den Eintrag einer gelöschten Datei.
+     * @param path Pfad
+     */
+    public synchronized void removeEntry(String path) {
+        if (remove(path)) {
+            dirty = true;
+        }
+    }
+
+    /**
+     * Entfernt alle Einträge, deren Dateien nicht mehr vorhanden sind.
+     * @param present Pfade aller vorhandenen Dateien
+     */
+    public synchronized void retainAll(Set<String> present) {
+        for (String path : new ArrayList<>(entries.keySet())) {
+            if (!present.contains(path)) {
+                removeEntry(path);
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void put(Entry entry) {
+        entries.put(entry.getPath(), entry);
+        byHash.computeIfAbsent(entry.getHash(), k -> new ArrayList<>(1)).add(entry);
+    }
+
+    private boolean remove(String path) {
+        Entry old = entries.remove(path);
+        if (old == null) {
+            return false;
+        }
+        // Meist nur ein Eintrag pro Hash; weitere Dateien gleichen Inhalts rücken nach
+        List<Entry> sameContent = byHash.get(old.getHash());
+        sameContent.remove(old);
+        if (sameContent.isEmpty()) {
+            byHash.remove(old.getHash());
+        }
+        return true;
+    }
+
+    /**
+     * Kürzt Metadaten aus der Datei auf {@link #MAX_TEXT_LENGTH} Zeichen, ohne ein
+     * Surrogatpaar zu trennen.
+     */
+    private static String limit(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.length() <= MAX_TEXT_LENGTH) {
+            return value;
+        }
+        int end = MAX_TEXT_LENGTH;
+        if (Character.isHighSurrogate(value.charAt(end - 1))) {
+            end--;
+        }
+        return value.substring(0, end);
+    }
+
+    /**
+     * Berechnet den SHA-256-Hash einer Datei.
+     * @param file Datei
+     * @return Hash als Hex-String
+     * @throws IOException Bei Lesefehlern
+     */
+    public static String hash(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
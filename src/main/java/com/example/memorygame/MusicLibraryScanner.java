@@ -0,0 +1,315 @@
+package com.example.memorygame;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Liest das Musikverzeichnis im Hintergrund und meldet danach nur noch Änderungen.
+ * <p>
+ * Ein eigener Thread registriert zuerst einen {@link WatchService} und liest
+ * dann das Verzeichnis per {@link DirectoryStream}; gefundene Dateien werden in
+ * Paketen von {@link #BATCH_SIZE} über den übergebenen Executor (in der
+ * Anwendung {@code Platform::runLater}) gemeldet. Danach kommen hinzugefügte
+ * und gelöschte Dateien einzeln aus den Watch-Ereignissen, ohne das Verzeichnis
+ * neu zu lesen. Nur wenn Ereignisse verloren gegangen sind ({@code OVERFLOW}),
+ * wird einmal neu gelesen und der Unterschied gemeldet.
+ * <p>
+ * Nach dem Melden bringt der Thread den {@link MusicLibraryIndex} auf den
+ * Stand: unveränderte Dateien kosten nur ein {@code stat}, neue und geänderte
+ * werden gehasht. Dateien, deren Eintrag danach noch keine Metadaten hat,
+ * werden gesondert gemeldet; erst dann kann ein Ergebnis des Abtastens
+ * eingetragen werden. Der Index wird danach gespeichert.
+ * <p>
+ * Neue und geänderte Dateien aus den Watch-Ereignissen werden nicht sofort
+ * gehasht: Ein Kopiervorgang meldet fortlaufend {@code ENTRY_MODIFY}. Erst wenn
+ * Größe und Änderungszeit bei einer späteren Prüfung gleich geblieben sind und
+ * keine neuen Ereignisse kamen, wird die Datei einmal gehasht. Geprüft wird
+ * nach jedem Ereignispaket und nach {@link #SETTLE_MILLIS} ohne Ereignisse.
+ */
+public class MusicLibraryScanner {
+
+    static final int BATCH_SIZE = 64;
+    static final long SETTLE_MILLIS = 500;
+
+    private final Path directory;
+    private final MusicLibraryIndex index;
+    private final Executor publisher;
+    private final Consumer<List<Path>> onAdded;
+    private final Consumer<List<Path>> onRemoved;
+    private final Consumer<List<Path>> onUnprobed;
+    // Nur auf dem Scanner-Thread benutzt
+    private final Set<Path> known = new HashSet<>();
+    // Geänderte Dateien, die noch nicht gehasht sind, mit Größe und Änderungszeit der
+    // letzten Prüfung; null, wenn seitdem ein Ereignis kam
+    private final Map<Path, Stamp> settling = new HashMap<>();
+    private volatile WatchService watchService;
+    private volatile boolean stopped;
+
+    /**
+     * Größe und Änderungszeit einer Datei.
+     */
+    private static class Stamp {
+        final long size;
+        final long modified;
+
+        Stamp(long size, long modified) {
+            this.size = size;
+            this.modified = modified;
+        }
+
+        boolean sameAs(Stamp other) {
+            return other != null && size == other.size && modified == other.modified;
+        }
+    }
+
+    /**
+     * Konstruktor.
+     * @param directory Musikverzeichnis
+     * @param index Bibliotheksindex, wird auf diesem Thread geladen und aktualisiert
+     * @param publisher Führt die Meldungen aus, z.B. auf dem FX-Thread
+     * @param onAdded Empfänger neu gefundener Dateien
+     * @param onRemoved Empfänger gelöschter Dateien
+     * @param onUnprobed Empfänger indizierter Dateien ohne Metadaten
+     */
+    public MusicLibraryScanner(Path directory, MusicLibraryIndex index, Executor publisher,
+                               Consumer<List<Path>> onAdded, Consumer<List<Path>> onRemoved,
+                               Consumer<List<Path>> onUnprobed) {
+        this.directory = directory;
+        this.index = index;
+        this.publisher = publisher;
+        this.onAdded = onAdded;
+        this.onRemoved = onRemoved;
+        this.onUnprobed = onUnprobed;
+    }
+
+    /**
+     * Startet den Scanner-Thread und kehrt sofort zurück.
+     */
+    public void start() {
+        Thread thread = new Thread(this::run, "music-library");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Beendet die Überwachung.
+     */
+    public void stop() {
+        stopped = true;
+        WatchService service = watchService;
+        if (service != null) {
+            try {
+                service.close();
+            } catch (IOException e) {
+                System.err.println("Could not stop music library watcher: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Gibt an, ob eine Datei eine unterstützte Musikdatei ist.
+     * @param file Datei
+     * @return true für .mp3 und .wav
+     */
+    public static boolean isMusicFile(Path file) {
+        String lower = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        return lower.endsWith(".mp3") || lower.endsWith(".wav");
+    }
+
+    private void run() {
+        index.load();
+        try {
+            // Vor dem Lesen registrieren, damit nichts zwischen Lesen und Überwachen verloren geht
+            watchService = directory.getFileSystem().newWatchService();
+            if (stopped) {
+                watchService.close();
+                return;
+            }
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            System.err.println("Could not watch music directory: " + e.getMessage());
+        }
+        scan();
+        if (watchService != null) {
+            watch();
+        }
+    }
+
+    /**
+     * Liest das Verzeichnis vollständig und meldet neue Dateien paketweise
+     * sowie Dateien, die nicht mehr da sind.
+     */
+    private void scan() {
+        Set<Path> present = new HashSet<>();
+        List<Path> batch = new ArrayList<>(BATCH_SIZE);
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path file : stream) {
+                if (stopped) {
+                    return;
+                }
+                if (!isMusicFile(file)) {
+                    continue;
+                }
+                present.add(file);
+                if (known.add(file)) {
+                    batch.add(file);
+                    if (batch.size() == BATCH_SIZE) {
+                        publish(onAdded, batch);
+                        batch = new ArrayList<>(BATCH_SIZE);
+                    }
+                }
+            }
+        } catch (IOException | DirectoryIteratorException e) {
+            System.err.println("Could not read music directory: " + e.getMessage());
+        }
+        publish(onAdded, batch);
+
+        List<Path> removed = new ArrayList<>();
+        for (Path file : known) {
+            if (!present.contains(file)) {
+                removed.add(file);
+            }
+        }
+        known.removeAll(removed);
+        publish(onRemoved, removed);
+
+        // Erst melden, dann hashen: die Playlist wartet nicht auf den Index
+        Set<String> paths = new HashSet<>();
+        List<Path> unprobed = new ArrayList<>();
+        for (Path file : present) {
+            if (stopped) {
+                return;
+            }
+            indexFile(file, unprobed);
+            paths.add(file.toString());
+        }
+        index.retainAll(paths);
+        index.save();
+        publish(onUnprobed, unprobed);
+    }
+
+    /**
+     * Bringt den Indexeintrag einer Datei auf den Stand und merkt sie vor, falls Metadaten fehlen.
+     */
+    private void indexFile(Path file, List<Path> unprobed) {
+        MusicLibraryIndex.Entry entry = index.refresh(file);
+        if (entry != null && !entry.isProbed()) {
+            unprobed.add(file);
+        }
+    }
+
+    private void watch() {
+        while (!stopped) {
+            WatchKey key;
+            try {
+                key = settling.isEmpty()
+                        ? watchService.take()
+                        : watchService.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+            List<Path> added = new ArrayList<>();
+            List<Path> removed = new ArrayList<>();
+            boolean overflow = false;
+            // Alle bereits anstehenden Ereignisse zu einer Meldung zusammenfassen
+            while (key != null) {
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        overflow = true;
+                        continue;
+                    }
+                    Path file = directory.resolve((Path) event.context());
+                    if (!isMusicFile(file)) {
+                        continue;
+                    }
+                    if (event.kind() == StandardWatchEventKinds.ENTRY_MODIFY) {
+                        // Z.B. noch laufender Kopiervorgang; nur der Index ändert sich
+                        settling.put(file, null);
+                        continue;
+                    }
+                    // Gelöscht und neu angelegt (oder umgekehrt) hebt sich innerhalb einer Meldung auf
+                    if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE) {
+                        settling.put(file, null);
+                        if (known.add(file) && !removed.remove(file)) {
+                            added.add(file);
+                        }
+                    } else if (known.remove(file) && !added.remove(file)) {
+                        removed.add(file);
+                    }
+                }
+                if (!key.reset()) {
+                    // Verzeichnis nicht mehr erreichbar
+                    stopped = true;
+                }
+                try {
+                    key = watchService.poll();
+                } catch (ClosedWatchServiceException e) {
+                    key = null;
+                }
+            }
+            publish(onRemoved, removed);
+            publish(onAdded, added);
+            if (overflow) {
+                scan();
+                continue;
+            }
+            for (Path file : removed) {
+                settling.remove(file);
+                index.removeEntry(file.toString());
+            }
+            List<Path> unprobed = new ArrayList<>();
+            indexSettledFiles(unprobed);
+            index.save();
+            publish(onUnprobed, unprobed);
+        }
+    }
+
+    /**
+     * Hasht geänderte Dateien, deren Größe und Änderungszeit seit der letzten
+     * Prüfung gleich geblieben sind; die übrigen werden erneut vorgemerkt.
+     */
+    private void indexSettledFiles(List<Path> unprobed) {
+        for (Iterator<Map.Entry<Path, Stamp>> it = settling.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<Path, Stamp> pending = it.next();
+            Path file = pending.getKey();
+            Stamp now = known.contains(file) ? stamp(file) : null;
+            if (now == null) {
+                // Gelöscht oder nicht lesbar; ein neues Ereignis merkt sie wieder vor
+                it.remove();
+            } else if (now.sameAs(pending.getValue())) {
+                it.remove();
+                indexFile(file, unprobed);
+            } else {
+                pending.setValue(now);
+            }
+        }
+    }
+
+    private static Stamp stamp(Path file) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            return new Stamp(attributes.size(), attributes.lastModifiedTime().toMillis());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void publish(Consumer<List<Path>> receiver, List<Path> files) {
+        if (!files.isEmpty() && !stopped) {
+            publisher.execute(() -> receiver.accept(files));
+        }
+    }
+}
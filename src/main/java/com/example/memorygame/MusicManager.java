@@ -1,5 +1,6 @@
 package com.example.memorygame;
 
+import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
@@ -7,22 +8,44 @@ import javafx.scene.layout.VBox;
 import javafx.scene.layout.HBox;
 import javafx.scene.media.Media;
 import javafx.scene.media.MediaPlayer;
+import javafx.util.Duration;
+import javafx.scene.Scene;
 import javafx.stage.FileChooser;
+import javafx.stage.Modality;
+import javafx.stage.Stage;
 import javafx.stage.Window;
 import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
 
 /**
  * Verwaltet die Musikfunktionalität, einschließlich Abspielen, Hinzufügen und Verwalten von Musikdateien.
+ * <p>
+ * Die Playlist füllt ein {@link MusicLibraryScanner} im Hintergrund; der
+ * Konstruktor wartet nicht auf das Verzeichnis. Neue und gelöschte Dateien
+ * kommen danach einzeln auf dem FX-Thread an. Titel, Interpret und Dauer
+ * stehen im {@link MusicLibraryIndex}; fehlen sie, meldet der Scanner die
+ * Datei, sobald ihr Eintrag angelegt ist, und sie wird einmal im Hintergrund
+ * abgetastet.
  */
 public class MusicManager {
 
     private MemoryGame mainApp;
-    private MediaPlayer currentPlayer;
+    private static final String NO_MUSIC = "No music files found";
+
+    private final CrossfadePlayer player = new CrossfadePlayer();
     private List<String> playlist;
+    private final SoundEffects soundEffects;
+    private MusicLibraryIndex libraryIndex;
+    private MusicLibraryScanner scanner;
+    // Dateien ohne Metadaten; es wird immer nur eine gleichzeitig abgetastet
+    private final ArrayDeque<String> probeQueue = new ArrayDeque<>();
+    private MediaPlayer probePlayer;
     private int currentSongIndex;
     private boolean isPlaying;
 
@@ -31,14 +54,20 @@ public class MusicManager {
     private Slider volumeSlider;
 
     /**
-     * Konstruktor. Initialisiert die Playlist und lädt Musikdateien.
+     * Konstruktor. Initialisiert die Playlist und beginnt, Musikdateien im Hintergrund zu suchen.
+     * @param soundEffects Soundeffekte, deren Lautstärke hier mit eingestellt wird
      */
-    public MusicManager() {
+    public MusicManager(SoundEffects soundEffects) {
+        this.soundEffects = soundEffects;
         this.playlist = new ArrayList<>();
         this.currentSongIndex = 0;
         this.isPlaying = false;
         ensureMusicDirectoryExists();
-        loadMusicFromDirectory();
+        this.libraryIndex = new MusicLibraryIndex();
+        this.scanner = new MusicLibraryScanner(Path.of("music"), libraryIndex, Platform::runLater,
+                this::addSongs, this::removeSongs, this::probeSongs);
+        this.scanner.start();
+        this.player.setOnTrackEnding(this::playNextTrack);
     }
 
     /**
@@ -52,25 +81,97 @@ public class MusicManager {
     }
 
     /**
-     * Lädt Musikdateien aus dem Musikverzeichnis in die Playlist.
+     * Hängt gefundene Musikdateien an die Playlist an. Läuft auf dem FX-Thread.
+     * @param files Neue Dateien
      */
-    private void loadMusicFromDirectory() {
-        playlist.clear();
-        File musicDir = new File("music");
-        File[] files = musicDir.listFiles((dir, name) -> {
-            String lower = name.toLowerCase();
-            return lower.endsWith(".mp3") || lower.endsWith(".wav");
-        });
-        if (files != null && files.length > 0) {
-            for (File file : files) {
-                playlist.add(file.getPath());
+    private void addSongs(List<Path> files) {
+        boolean wasEmpty = playlist.isEmpty();
+        for (Path file : files) {
+            playlist.add(file.toString());
+        }
+        if (wasEmpty) {
+            updateCurrentSongLabel();
+        }
+    }
+
+    /**
+     * Reiht indizierte Dateien ohne Metadaten zum Abtasten ein. Läuft auf dem FX-Thread.
+     * @param files Dateien, deren Indexeintrag existiert
+     */
+    private void probeSongs(List<Path> files) {
+        for (Path file : files) {
+            probeQueue.add(file.toString());
+        }
+        probeNext();
+    }
+
+    /**
+     * Liest Dauer, Titel und Interpret der nächsten Datei aus, die noch keine
+     * Metadaten im Index hat. Bekannte Dateien werden übersprungen.
+     */
+    private void probeNext() {
+        while (probePlayer == null && !probeQueue.isEmpty()) {
+            String path = probeQueue.poll();
+            MusicLibraryIndex.Entry entry = libraryIndex.get(path);
+            if (entry == null || entry.isProbed()) {
+                // Inzwischen gelöscht oder schon abgetastet
+                continue;
+            }
+            try {
+                Media media = new Media(new File(path).toURI().toString());
+                probePlayer = new MediaPlayer(media);
+                probePlayer.setOnReady(() -> {
+                    Duration duration = media.getDuration();
+                    Object title = media.getMetadata().get("title");
+                    Object artist = media.getMetadata().get("artist");
+                    libraryIndex.setMetadata(path, duration.isUnknown() ? 0 : (long) duration.toMillis(),
+                            title == null ? "" : title.toString(), artist == null ? "" : artist.toString());
+                    finishProbe(path);
+                });
+                probePlayer.setOnError(() -> finishProbe(path));
+            } catch (Exception e) {
+                // Nicht abspielbar; beim nächsten Start wird es erneut versucht
             }
         }
-        if (playlist.isEmpty()) {
-            playlist.add("No music files found");
+    }
+
+    private void finishProbe(String path) {
+        probePlayer.dispose();
+        probePlayer = null;
+        if (playlist.size() > currentSongIndex && playlist.get(currentSongIndex).equals(path)) {
+            updateCurrentSongLabel();
+        }
+        if (probeQueue.isEmpty()) {
+            libraryIndex.save();
+        }
+        probeNext();
+    }
+
+    /**
+     * Entfernt gelöschte Musikdateien aus der Playlist. Läuft auf dem FX-Thread.
+     * @param files Gelöschte Dateien
+     */
+    private void removeSongs(List<Path> files) {
+        Set<String> removed = new HashSet<>();
+        for (Path file : files) {
+            removed.add(file.toString());
+        }
+        String current = playlist.isEmpty() ? null : playlist.get(currentSongIndex);
+        // Der aktuelle Song bleibt ausgewählt, solange er noch da ist
+        int removedBefore = 0;
+        for (int i = 0; i < currentSongIndex; i++) {
+            if (removed.contains(playlist.get(i))) {
+                removedBefore++;
+            }
+        }
+        playlist.removeIf(removed::contains);
+        currentSongIndex -= removedBefore;
+        if (currentSongIndex >= playlist.size()) {
+            currentSongIndex = 0;
+        }
+        if (current != null && removed.contains(current)) {
+            updateCurrentSongLabel();
         }
-        currentSongIndex = 0;
-        updateCurrentSongLabel();
     }
 
     /**
@@ -119,7 +220,17 @@ public class MusicManager {
         volumeSlider.setShowTickLabels(true);
         volumeSlider.valueProperty().addListener((obs, oldVal, newVal) -> setVolume(newVal.doubleValue()));
 
-        VBox volumeBox = new VBox(5, volumeLabel, volumeSlider);
+        Label effectsLabel = new Label("Effects:");
+        effectsLabel.setStyle("-fx-text-fill: #ffffff;");
+
+        // Eigene Lautstärke für die Soundeffekte, unabhängig von der Musik
+        Slider effectsSlider = new Slider(0, 100, soundEffects.getVolume() * 100);
+        effectsSlider.setShowTickMarks(true);
+        effectsSlider.setShowTickLabels(true);
+        effectsSlider.valueProperty().addListener((obs, oldVal, newVal) -> soundEffects.setVolume(newVal.doubleValue() / 100.0));
+        effectsSlider.setOnMouseReleased(e -> soundEffects.play(SoundEffects.Effect.FLIP));
+
+        VBox volumeBox = new VBox(5, volumeLabel, volumeSlider, effectsLabel, effectsSlider);
         volumeBox.setAlignment(Pos.CENTER);
 
         Button addMusicButton = new Button("Musik hinzufügen");
@@ -136,7 +247,8 @@ public class MusicManager {
     }
 
     /**
-     * Öffnet einen Dialog zum Hinzufügen von Musikdateien.
+     * Öffnet einen Dialog zum Hinzufügen von Musikdateien und importiert sie
+     * im Hintergrund; ein Fortschrittsfenster erlaubt das Abbrechen.
      */
     private void handleAddMusic() {
         Window window = mainApp.getPrimaryStage();
@@ -149,26 +261,76 @@ public class MusicManager {
         );
         List<File> selectedFiles = fileChooser.showOpenMultipleDialog(window);
 
-        if (selectedFiles != null && !selectedFiles.isEmpty()) {
-            File musicDir = new File("music");
-            int added = 0;
-            for (File src : selectedFiles) {
-                File dest = new File(musicDir, src.getName());
-                try {
-                    if (!dest.exists()) {
-                        Files.copy(src.toPath(), dest.toPath());
-                        added++;
-                    }
-                } catch (IOException ex) {
-                    DialogUtils.showError("Fehler beim Hinzufügen", "Datei konnte nicht kopiert werden: " + src.getName());
-                }
-            }
-            if (added > 0) {
-                DialogUtils.showInformation("Musik hinzugefügt", added + " Datei(en) wurden hinzugefügt.");
-                loadMusicFromDirectory();
-            } else {
-                DialogUtils.showInformation("Keine neuen Dateien", "Es wurden keine neuen Musikdateien hinzugefügt.");
+        if (selectedFiles == null || selectedFiles.isEmpty()) {
+            return;
+        }
+        List<Path> sources = new ArrayList<>();
+        for (File file : selectedFiles) {
+            sources.add(file.toPath());
+        }
+        MusicImportTask task = new MusicImportTask(sources, Path.of("music"), libraryIndex);
+
+        ProgressBar progressBar = new ProgressBar();
+        progressBar.setPrefWidth(320);
+        progressBar.progressProperty().bind(task.progressProperty());
+        Label statusLabel = new Label();
+        statusLabel.textProperty().bind(task.messageProperty());
+        Button cancelButton = new Button("Abbrechen");
+        cancelButton.setOnAction(e -> task.cancel());
+        VBox content = new VBox(10, statusLabel, progressBar, cancelButton);
+        content.setPadding(new Insets(20));
+        content.setAlignment(Pos.CENTER);
+
+        Stage progressStage = new Stage();
+        progressStage.initOwner(window);
+        progressStage.initModality(Modality.WINDOW_MODAL);
+        progressStage.setTitle("Musik importieren");
+        progressStage.setScene(new Scene(content));
+        progressStage.setOnCloseRequest(e -> task.cancel());
+
+        task.setOnSucceeded(e -> {
+            progressStage.close();
+            showImportResult(task.getValue());
+        });
+        task.setOnCancelled(e -> {
+            progressStage.close();
+            DialogUtils.showInformation("Import abgebrochen", "Der Import wurde abgebrochen.");
+        });
+        task.setOnFailed(e -> {
+            progressStage.close();
+            DialogUtils.showError("Fehler beim Hinzufügen", "Import fehlgeschlagen: " + task.getException().getMessage());
+        });
+
+        Thread thread = new Thread(task, "music-import-task");
+        thread.setDaemon(true);
+        thread.start();
+        progressStage.show();
+    }
+
+    /**
+     * Zeigt das Ergebnis eines Imports an.
+     * @param result Ergebnis
+     */
+    private void showImportResult(MusicImportTask.Result result) {
+        for (Path failed : result.getFailed()) {
+            DialogUtils.showError("Fehler beim Hinzufügen", "Datei konnte nicht kopiert werden: " + failed.getFileName());
+        }
+        int added = result.getAdded().size();
+        int duplicates = result.getDuplicates().size();
+        String skipped = duplicates > 0 ? "\n" + duplicates + " Datei(en) sind bereits in der Bibliothek." : "";
+        if (!result.getExisting().isEmpty()) {
+            StringJoiner names = new StringJoiner(", ");
+            for (Path existing : result.getExisting()) {
+                names.add(existing.getFileName().toString());
             }
+            skipped += "\n" + result.getExisting().size() + " Datei(en) übersprungen, weil im Musikverzeichnis"
+                    + " schon eine Datei gleichen Namens liegt: " + names;
+        }
+        if (added > 0) {
+            // Die Playlist ergänzt der Scanner, sobald die Dateien im Verzeichnis liegen
+            DialogUtils.showInformation("Musik hinzugefügt", added + " Datei(en) wurden hinzugefügt." + skipped);
+        } else {
+            DialogUtils.showInformation("Keine neuen Dateien", "Es wurden keine neuen Musikdateien hinzugefügt." + skipped);
         }
     }
 
@@ -176,7 +338,7 @@ public class MusicManager {
      * Startet oder pausiert die Wiedergabe.
      */
     public void togglePlayPause() {
-        if (playlist.get(0).equals("No music files found")) {
+        if (playlist.isEmpty()) {
             DialogUtils.showInformation("No Music", "No music files found in the music directory.");
             return;
         }
@@ -189,22 +351,26 @@ public class MusicManager {
     }
 
     /**
-     * Startet die Wiedergabe des aktuellen Songs.
+     * Startet die Wiedergabe des aktuellen Songs oder setzt ihn fort.
      */
     private void play() {
-        try {
-            if (currentPlayer != null) {
-                currentPlayer.stop();
-            }
+        play(CrossfadePlayer.SKIP_FADE);
+    }
 
+    /**
+     * Startet den aktuellen Song mit Überblendung und lädt den nächsten vor.
+     * @param fade Dauer der Überblendung
+     */
+    private void play(Duration fade) {
+        try {
             String currentSong = playlist.get(currentSongIndex);
-            File file = new File(currentSong);
-            Media media = new Media(file.toURI().toString());
-            currentPlayer = new MediaPlayer(media);
-
-            currentPlayer.setVolume(volumeSlider.getValue() / 100.0);
-            currentPlayer.setOnEndOfMedia(this::playNext);
-            currentPlayer.play();
+            if (!player.resume(currentSong)) {
+                player.setVolume(volumeSlider.getValue() / 100.0);
+                player.play(currentSong, fade);
+            }
+            if (playlist.size() > 1) {
+                player.preload(playlist.get((currentSongIndex + 1) % playlist.size()));
+            }
 
             isPlaying = true;
             playPauseButton.setText("Pause");
@@ -217,9 +383,7 @@ public class MusicManager {
      * Pausiert die Wiedergabe.
      */
     private void pause() {
-        if (currentPlayer != null) {
-            currentPlayer.pause();
-        }
+        player.pause();
         isPlaying = false;
         playPauseButton.setText("Play");
     }
@@ -228,11 +392,22 @@ public class MusicManager {
      * Spielt den nächsten Song in der Playlist ab.
      */
     public void playNext() {
+        advance(CrossfadePlayer.SKIP_FADE);
+    }
+
+    /**
+     * Wechselt kurz vor Titelende mit langer Überblendung zum nächsten Song.
+     */
+    private void playNextTrack() {
+        advance(CrossfadePlayer.TRACK_FADE);
+    }
+
+    private void advance(Duration fade) {
         if (playlist.size() > 1) {
             currentSongIndex = (currentSongIndex + 1) % playlist.size();
             updateCurrentSongLabel();
             if (isPlaying) {
-                play();
+                play(fade);
             }
         }
     }
@@ -255,9 +430,7 @@ public class MusicManager {
      * @param volume Lautstärke (0-100)
      */
     private void setVolume(double volume) {
-        if (currentPlayer != null) {
-            currentPlayer.setVolume(volume / 100.0);
-        }
+        player.setVolume(volume / 100.0);
     }
 
     /**
@@ -266,15 +439,11 @@ public class MusicManager {
      */
     private String getCurrentSongName() {
         if (playlist.isEmpty()) {
-            return "No songs available";
-        }
-
-        String fullPath = playlist.get(currentSongIndex);
-        if (fullPath.equals("No music files found")) {
-            return fullPath;
+            return NO_MUSIC;
         }
-
-        return new File(fullPath).getName();
+        String path = playlist.get(currentSongIndex);
+        MusicLibraryIndex.Entry entry = libraryIndex.get(path);
+        return entry != null ? entry.getDisplayName() : new File(path).getName();
     }
 
     /**
@@ -290,9 +459,11 @@ public class MusicManager {
      * Bereinigt Ressourcen (z.B. beim Beenden der Anwendung).
      */
     public void cleanup() {
-        if (currentPlayer != null) {
-            currentPlayer.stop();
-            currentPlayer.dispose();
+        scanner.stop();
+        if (probePlayer != null) {
+            probePlayer.dispose();
         }
+        libraryIndex.save();
+        player.dispose();
     }
 }
\ No newline at end of file
@@ -0,0 +1,269 @@
+package com.example.memorygame;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+
+/**
+ * Sortierte Menge mit Rang-Abfragen (Treap mit Teilbaumgrößen).
+ * <p>
+ * Einfügen, Entfernen, {@link #rankOf} und {@link #get} kosten erwartet O(log n).
+ * Der Comparator muss eine totale Ordnung liefern; gleiche Elemente werden nicht aufgenommen.
+ * @param <E> Elementtyp
+ */
+public class OrderStatisticTree<E> implements Iterable<E> {
+
+    private static final class Node<E> {
+        final E value;
+        final int priority;
+        int size = 1;
+        Node<E> left;
+        Node<E> right;
+
+        Node(E value, int priority) {
+            this.value = value;
+            this.priority = priority;
+        }
+    }
+
+    private final Comparator<? super E> comparator;
+    private final SplittableRandom priorities = new SplittableRandom();
+    private Node<E> root;
+    private boolean changed;
+
+    /**
+     * Konstruktor.
+     * @param comparator Ordnung der Elemente
+     */
+    public OrderStatisticTree(Comparator<? super E> comparator) {
+        this.comparator = comparator;
+    }
+
+    public int size() {
+        return size(root);
+    }
+
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    /**
+     * Fügt ein Element ein.
+     * @param value Element
+     * @return false, wenn ein gleiches Element schon enthalten ist
+     */
+    public boolean add(E value) {
+        changed = false;
+        root = insert(root, value);
+        return changed;
+    }
+
+    /**
+     * Entfernt ein Element.
+     * @param value Element
+     * @return true, wenn es enthalten war
+     */
+    public boolean remove(E value) {
+        changed = false;
+        root = delete(root, value);
+        return changed;
+    }
+
+    /**
+     * Gibt das Element auf dem Platz {@code index} zurück (0 ist das kleinste).
+     * @param index Platz
+     * @return Element
+     */
+    public E get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " of " + size());
+        }
+        Node<E> node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index > leftSize) {
+                index -= leftSize + 1;
+                node = node.right;
+            } else {
+                return node.value;
+            }
+        }
+    }
+
+    /**
+     * Zählt die Elemente, die kleiner als {@code probe} sind. Das Element muss nicht enthalten sein.
+     * @param probe Vergleichswert
+     * @return Anzahl kleinerer Elemente, zugleich der Platz von {@code probe}
+     */
+    public int rankOf(E probe) {
+        int rank = 0;
+        Node<E> node = root;
+        while (node != null) {
+            int cmp = comparator.compare(probe, node.value);
+            if (cmp <= 0) {
+                node = node.left;
+            } else {
+                rank += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return rank;
+    }
+
+    public E first() {
+        return isEmpty() ? null : get(0);
+    }
+
+    public E last() {
+        return isEmpty() ? null : get(size() - 1);
+    }
+
+    /**
+     * Entfernt das größte Element.
+     * @return Entferntes Element oder null
+     */
+    public E pollLast() {
+        E last = last();
+        if (last != null) {
+            remove(last);
+        }
+        return last;
+    }
+
+    public void clear() {
+        root = null;
+    }
+
+    /**
+     * Iteriert in aufsteigender Reihenfolge ab Platz {@code fromIndex}.
+     * @param fromIndex Startplatz
+     * @return Iterator
+     */
+    public Iterator<E> iterator(int fromIndex) {
+        ArrayDeque<Node<E>> path = new ArrayDeque<>();
+        // Pfad zum Startplatz aufbauen; dabei nur Knoten merken, die noch folgen
+        Node<E> node = root;
+        int index = fromIndex;
+        while (node != null) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                path.push(node);
+                node = node.left;
+            } else if (index > leftSize) {
+                index -= leftSize + 1;
+                node = node.right;
+            } else {
+                path.push(node);
+                break;
+            }
+        }
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return !path.isEmpty();
+            }
+
+            @Override
+            public E next() {
+                if (path.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                Node<E> current = path.pop();
+                for (Node<E> n = current.right; n != null; n = n.left) {
+                    path.push(n);
+                }
+                return current.value;
+            }
+        };
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return iterator(0);
+    }
+
+    private Node<E> insert(Node<E> node, E value) {
+        if (node == null) {
+            changed = true;
+            return new Node<>(value, priorities.nextInt());
+        }
+        int cmp = comparator.compare(value, node.value);
+        if (cmp < 0) {
+            node.left = insert(node.left, value);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else if (cmp > 0) {
+            node.right = insert(node.right, value);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+    private Node<E> delete(Node<E> node, E value) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = comparator.compare(value, node.value);
+        if (cmp < 0) {
+            node.left = delete(node.left, value);
+        } else if (cmp > 0) {
+            node.right = delete(node.right, value);
+        } else {
+            changed = true;
+            return merge(node.left, node.right);
+        }
+        update(node);
+        return node;
+    }
+
+    private Node<E> merge(Node<E> a, Node<E> b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            update(a);
+            return a;
+        }
+        b.left = merge(a, b.left);
+        update(b);
+        return b;
+    }
+
+    private Node<E> rotateRight(Node<E> node) {
+        Node<E> left = node.left;
+        node.left = left.right;
+        left.right = node;
+        update(node);
+        update(left);
+        return left;
+    }
+
+    private Node<E> rotateLeft(Node<E> node) {
+        Node<E> right = node.right;
+        node.right = right.left;
+        right.left = node;
+        update(node);
+        update(right);
+        return right;
+    }
+
+    private static void update(Node<?> node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+}
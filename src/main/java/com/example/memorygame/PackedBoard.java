@@ -0,0 +1,114 @@
+package com.example.memorygame;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Kompakte Darstellung des Spielfelds.
+ * <p>
+ * Die Felder liegen zeilenweise in einem flachen {@code int[]} mit Paar-IDs,
+ * der Aufdeck-Zustand in einem {@code long[]}-Bitset. Ein Vergleich zweier
+ * Felder ist damit ein einfacher int-Vergleich.
+ * <p>
+ * Speicherbedarf (64-Bit-JVM, Compressed Oops), jeweils mit allem, was das
+ * Modell über ein Spiel hinweg hält:
+ * <pre>
+ *                     alt (String[][] + boolean[][])     neu (int[] + long[])
+ *   pro Feld          4 B Referenz + 1 B boolean          4 B int + 1 Bit
+ *   pro Zeile         2 Array-Header (~32 B)              -
+ *   pro Paar          -                                   4 B Symbol-ID, nur unter 164 Paaren
+ *   8x8               ~0,7 KB                             ~0,4 KB
+ *   512x512           ~1,3 MB                             ~1,1 MB
+ * </pre>
+ * Die Symbol-Strings selbst (~48 B pro Paar, bei 512x512 ~6,3 MB) liegen im
+ * {@link SymbolCatalogue} und sind nicht mitgezählt. Ab 164 Paaren hält das
+ * {@link GameModel} keine Symboltabelle mehr, sondern fragt das Symbol zur
+ * Paar-ID beim Katalog ab.
+ */
+public class PackedBoard {
+
+    private final int gridSize;
+    private final int[] cells;
+    private final long[] revealed;
+
+    /**
+     * Konstruktor.
+     * @param gridSize Größe des Spielfelds
+     */
+    public PackedBoard(int gridSize) {
+        if (gridSize <= 0 || (long) gridSize * gridSize > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Unsupported grid size: " + gridSize);
+        }
+        this.gridSize = gridSize;
+        this.cells = new int[gridSize * gridSize];
+        this.revealed = new long[(cells.length + 63) >>> 6];
+    }
+
+    /**
+     * Belegt das Feld mit den Paar-IDs 0..n-1 (je zweimal) und mischt sie
+     * per Fisher–Yates. Der Aufdeck-Zustand wird zurückgesetzt.
+     * @param random Zufallsquelle
+     */
+    public void fillShuffledPairs(RandomGenerator random) {
+        int length = cells.length;
+        for (int i = 0; i < length; i++) {
+            cells[i] = i >>> 1;
+        }
+        for (int i = length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = cells[i];
+            cells[i] = cells[j];
+            cells[j] = tmp;
+        }
+        Arrays.fill(revealed, 0L);
+    }
+
+    /**
+     * Berechnet den flachen Index eines Feldes.
+     * @param row Zeile
+     * @param col Spalte
+     * @return Index
+     */
+    public int index(int row, int col) {
+        return row * gridSize + col;
+    }
+
+    /**
+     * Gibt die Paar-ID eines Feldes zurück.
+     * @param index Flacher Index
+     * @return Paar-ID
+     */
+    public int getPairId(int index) {
+        return cells[index];
+    }
+
+    /**
+     * Prüft, ob zwei Felder dieselbe Paar-ID tragen.
+     * @param index1 Erstes Feld
+     * @param index2 Zweites Feld
+     * @return true, wenn gleich
+     */
+    public boolean isSamePair(int index1, int index2) {
+        return cells[index1] == cells[index2];
+    }
+
+    /**
+     * Prüft, ob ein Feld aufgedeckt ist.
+     * @param index Flacher Index
+     * @return true, wenn aufgedeckt
+     */
+    public boolean isRevealed(int index) {
+        return (revealed[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Markiert ein Feld als aufgedeckt.
+     * @param index Flacher Index
+     */
+    public void setRevealed(int index) {
+        revealed[index >>> 6] |= 1L << index;
+    }
+
+    public int getGridSize() { return gridSize; }
+    public int getCellCount() { return cells.length; }
+}
@@ -0,0 +1,339 @@
+package com.example.memorygame;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spielerprofile aus {@code player_data.txt}, indiziert nach Spielername.
+ * <p>
+ * Jede Zeile ist ein Spiel: {@code name,difficulty,timestamp[,millis,attempts]};
+ * ältere Zeilen haben nur die ersten drei Spalten und zählen als gespielt, aber
+ * ohne Zeit. Pro Spieler und Schwierigkeitsgrad werden laufende Werte gehalten
+ * (Spiele, Bestzeit, Histogramm der Zeiten in Sekunden für den Median), pro
+ * Spieler die Serie aufeinanderfolgender Spieltage. Jedes Spiel ändert diese
+ * Werte in O(1); die Historie selbst wird nicht im Speicher gehalten.
+ * <p>
+ * Die Datei wird zeilenweise im Hintergrund gelesen, der Start wartet nicht
+ * darauf. Neue Spiele werden auf demselben Thread eingetragen und angehängt,
+ * also immer nach der vorhandenen Historie. Abfragen vor dem Ende des Ladens
+ * sehen den bis dahin gelesenen Stand.
+ */
+public class PlayerProfileStore {
+
+    private static final String PLAYER_DATA_FILE = "player_data.txt";
+    // Format von java.util.Date#toString, so wie die vorhandenen Zeilen geschrieben sind
+    private static final DateTimeFormatter TIMESTAMP =
+            DateTimeFormatter.ofPattern("EEE MMM dd HH:mm:ss zzz yyyy", Locale.ENGLISH);
+
+    private final Path dataFile;
+    private final Map<String, Profile> profiles = new HashMap<>();
+    private final ExecutorService io = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "player-profiles");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private Future<?> loading;
+
+    /**
+     * Laufende Werte eines Schwierigkeitsgrads.
+     */
+    private static class DifficultyStats {
+        // Zeiten ab hier teilen sich das letzte Fach, damit das Histogramm klein bleibt
+        static final int MAX_HISTOGRAM_SECONDS = 2 * 60 * 60;
+
+        int games;
+        int finished;
+        long bestMillis = Long.MAX_VALUE;
+        // Anzahl Spiele pro ganzer Sekunde, wächst bei Bedarf bis zum Überlauf-Fach
+        int[] secondsHistogram = new int[64];
+
+        void add(long timeInMillis) {
+            games++;
+            if (timeInMillis < 0) {
+                return;
+            }
+            finished++;
+            bestMillis = Math.min(bestMillis, timeInMillis);
+            int second = (int) Math.min(timeInMillis / 1000L, MAX_HISTOGRAM_SECONDS);
+            if (second >= secondsHistogram.length) {
+                secondsHistogram = Arrays.copyOf(secondsHistogram, Math.max(second + 1, secondsHistogram.length * 2));
+            }
+            secondsHistogram[second]++;
+        }
+
+        long medianMillis() {
+            int target = (finished - 1) / 2;
+            int seen = 0;
+            for (int second = 0; second < secondsHistogram.length; second++) {
+                seen += secondsHistogram[second];
+                if (seen > target) {
+                    return second * 1000L;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Profil eines Spielers.
+     */
+    private static class Profile {
+        final Map<String, DifficultyStats> byDifficulty = new HashMap<>();
+        int games;
+        long lastDay = Long.MIN_VALUE;
+        int streak;
+        int longestStreak;
+
+        void add(String difficulty, LocalDate day, long timeInMillis) {
+            games++;
+            byDifficulty.computeIfAbsent(difficulty, k -> new DifficultyStats()).add(timeInMillis);
+            if (day == null) {
+                return;
+            }
+            long epochDay = day.toEpochDay();
+            if (epochDay == lastDay + 1) {
+                streak++;
+            } else if (epochDay > lastDay) {
+                streak = 1;
+            } else {
+                // Gleicher Tag oder nicht in zeitlicher Reihenfolge: Serie bleibt
+                return;
+            }
+            lastDay = epochDay;
+            longestStreak = Math.max(longestStreak, streak);
+        }
+    }
+
+    /**
+     * Konstruktor. Nutzt die Standarddatei.
+     */
+    public PlayerProfileStore() {
+        this(Path.of(PLAYER_DATA_FILE));
+    }
+
+    /**
+     * Konstruktor.
+     * @param dataFile Pfad der Spielerdatei
+     */
+    public PlayerProfileStore(Path dataFile) {
+        this.dataFile = dataFile;
+    }
+
+    /**
+     * Beginnt, die Datei im Hintergrund zu lesen, und kehrt sofort zurück.
+     */
+    public void loadAsync() {
+        loading = io.submit(this::load);
+    }
+
+    /**
+     * Wartet, bis die Datei gelesen ist.
+     */
+    public void awaitLoaded() {
+        if (loading != null) {
+            try {
+                loading.get();
+            } catch (Exception e) {
+                System.err.println("Could not load player data: " + e.getMessage());
+            }
+        }
+    }
+
+    private void load() {
+        try (BufferedReader reader = Files.newBufferedReader(dataFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                parseLine(line);
+            }
+        } catch (NoSuchFileException e) {
+            // Noch keine Spiele gespeichert
+        } catch (IOException e) {
+            System.err.println("Could not load player data: " + e.getMessage());
+        }
+    }
+
+    private void parseLine(String line) {
+        String[] parts = line.split(",");
+        if (parts.length != 3 && parts.length != 5) {
+            return;
+        }
+        LocalDate day;
+        try {
+            day = ZonedDateTime.parse(parts[2], TIMESTAMP).withZoneSameInstant(ZoneId.systemDefault()).toLocalDate();
+        } catch (DateTimeParseException e) {
+            day = null;
+        }
+        long timeInMillis;
+        try {
+            timeInMillis = parts.length == 5 ? Long.parseLong(parts[3]) : -1;
+        } catch (NumberFormatException e) {
+            return;
+        }
+        synchronized (this) {
+            profiles.computeIfAbsent(parts[0], k -> new Profile()).add(parts[1], day, timeInMillis);
+        }
+    }
+
+    /**
+     * Trägt ein beendetes Spiel im Hintergrund ein und hängt es an die Datei an.
+     * @param playerName Spielername
+     * @param difficulty Schwierigkeitsgrad
+     * @param timeInMillis Zeit in Millisekunden
+     * @param attempts Versuche
+     */
+    public void recordGame(String playerName, String difficulty, long timeInMillis, int attempts) {
+        ZonedDateTime now = ZonedDateTime.now();
+        String line = playerName + "," + difficulty + "," + now.format(TIMESTAMP) + "," + timeInMillis + "," + attempts;
+        io.execute(() -> {
+            synchronized (this) {
+                profiles.computeIfAbsent(playerName, k -> new Profile()).add(difficulty, now.toLocalDate(), timeInMillis);
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(dataFile, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                writer.write(line);
+                writer.newLine();
+            } catch (IOException e) {
+                System.err.println("Could not save player data: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Gibt an, ob es zu einem Spieler Einträge gibt.
+     * @param playerName Spielername
+     * @return true, wenn der Spieler mindestens ein Spiel hat
+     */
+    public synchronized boolean hasProfile(String playerName) {
+        return profiles.containsKey(playerName);
+    }
+
+    /**
+     * Gibt die Anzahl gespielter Spiele zurück.
+     * @param playerName Spielername
+     * @return Anzahl über alle Schwierigkeitsgrade
+     */
+    public synchronized int getGamesPlayed(String playerName) {
+        Profile profile = profiles.get(playerName);
+        return profile == null ? 0 : profile.games;
+    }
+
+    /**
+     * Gibt die Anzahl gespielter Spiele eines Schwierigkeitsgrads zurück.
+     * @param playerName Spielername
+     * @param difficulty Schwierigkeitsgrad
+     * @return Anzahl
+     */
+    public synchronized int getGamesPlayed(String playerName, String difficulty) {
+        DifficultyStats stats = stats(playerName, difficulty);
+        return stats == null ? 0 : stats.games;
+    }
+
+    /**
+     * Gibt die Bestzeit eines Schwierigkeitsgrads zurück.
+     * @param playerName Spielername
+     * @param difficulty Schwierigkeitsgrad
+     * @return Zeit in Millisekunden oder -1 ohne beendetes Spiel
+     */
+    public synchronized long getBestTime(String playerName, String difficulty) {
+        DifficultyStats stats = stats(playerName, difficulty);
+        return stats == null || stats.finished == 0 ? -1 : stats.bestMillis;
+    }
+
+    /**
+     * Gibt den Median der Zeiten eines Schwierigkeitsgrads auf ganze Sekunden genau zurück.
+     * Zeiten ab zwei Stunden werden gemeinsam gezählt; liegt der Median dort, ist das
+     * Ergebnis diese Grenze.
+     * @param playerName Spielername
+     * @param difficulty Schwierigkeitsgrad
+     * @return Zeit in Millisekunden oder -1 ohne beendetes Spiel
+     */
+    public synchronized long getMedianTime(String playerName, String difficulty) {
+        DifficultyStats stats = stats(playerName, difficulty);
+        return stats == null || stats.finished == 0 ? -1 : stats.medianMillis();
+    }
+
+    /**
+     * Gibt die aktuelle Serie aufeinanderfolgender Spieltage zurück.
+     * Sie zählt noch, wenn der letzte Spieltag gestern war.
+     * @param playerName Spielername
+     * @return Tage
+     */
+    public synchronized int getCurrentStreak(String playerName) {
+        Profile profile = profiles.get(playerName);
+        if (profile == null || profile.lastDay < LocalDate.now().toEpochDay() - 1) {
+            return 0;
+        }
+        return profile.streak;
+    }
+
+    /**
+     * Gibt die längste Serie aufeinanderfolgender Spieltage zurück.
+     * @param playerName Spielername
+     * @return Tage
+     */
+    public synchronized int getLongestStreak(String playerName) {
+        Profile profile = profiles.get(playerName);
+        return profile == null ? 0 : profile.longestStreak;
+    }
+
+    /**
+     * Gibt das Profil eines Spielers formatiert als String zurück.
+     * @param playerName Spielername
+     * @return Formatierter Profil-Text
+     */
+    public synchronized String getFormattedProfile(String playerName) {
+        Profile profile = profiles.get(playerName);
+        if (profile == null) {
+            return "No games played yet!";
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Games played: %d\nCurrent streak: %d days (longest: %d)\n",
+                profile.games, getCurrentStreak(playerName), profile.longestStreak));
+        List<String> difficulties = new ArrayList<>(profile.byDifficulty.keySet());
+        difficulties.sort(Comparator.comparingInt(HighscoreManager::getDifficultyOrder)
+                .thenComparing(Comparator.naturalOrder()));
+        for (String difficulty : difficulties) {
+            DifficultyStats stats = profile.byDifficulty.get(difficulty);
+            sb.append("\n").append(difficulty).append(": ").append(stats.games).append(" games");
+            if (stats.finished > 0) {
+                sb.append(String.format(", best %s, median %s",
+                        HighscoreManager.formatTime(stats.bestMillis / 1000L),
+                        HighscoreManager.formatTime(stats.medianMillis() / 1000L)));
+            }
+        }
+        return sb.toString();
+    }
+
+    private DifficultyStats stats(String playerName, String difficulty) {
+        Profile profile = profiles.get(playerName);
+        return profile == null ? null : profile.byDifficulty.get(difficulty);
+    }
+
+    /**
+     * Wartet, bis alle Spiele geschrieben sind, und beendet den Hintergrund-Thread.
+     */
+    public void close() {
+        io.shutdown();
+        try {
+            io.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,587 @@
+package com.example.memorygame;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Zeilenbasierte Persistenz aus Snapshot-Datei und Append-only-Journal,
+ * die sich mehrere laufende Instanzen des Spiels teilen können.
+ * <p>
+ * Neue Zeilen werden per Write-behind angehängt: {@link #append} reiht ein,
+ * ein gemeinsamer Schreib-Thread schreibt alle innerhalb von
+ * {@link #BATCH_DELAY_MILLIS} ms eingegangenen Zeilen mit einem Schreibvorgang.
+ * <p>
+ * Abgestimmt wird über eine Lock-Datei, deren 16-Byte-Kopf Journal-Generation
+ * und bestätigte Journal-Länge enthält. Schreiben und Kompaktieren laufen unter
+ * exklusivem {@link FileLock}: neue Zeilen kommen ans bestätigte Ende, erst
+ * danach wird der Kopf fortgeschrieben. {@link #refresh} liest unter geteiltem
+ * Lock nur den Kopf und, wenn er sich geändert hat, genau die neuen Bytes. Es
+ * wartet weder auf den Schreib-Thread noch auf andere Instanzen. Nach einer
+ * fremden Kompaktierung liest es aber den ganzen Stand; die Oberfläche nutzt
+ * daher {@link #refreshAsync}, das auf dem Schreib-Thread liest.
+ * <p>
+ * Beim Kompaktieren werden Snapshot und Journal aus den Dateien gelesen, also
+ * inklusive der Zeilen anderer Instanzen, mit dem Kompaktierer zusammengefasst
+ * und per atomarem Rename zum neuen Snapshot; danach beginnt eine neue, leere
+ * Journal-Generation. Der Snapshot vermerkt, bis zu welcher Stelle welcher
+ * Generation er reicht, sodass ein Abbruch dazwischen keine Zeilen doppelt
+ * liefert. Bytes hinter der bestätigten Länge stammen von abgebrochenen
+ * Schreibvorgängen und werden ignoriert.
+ * <p>
+ * Nach einer Kompaktierung durch eine andere Instanz liefert {@link #refresh}
+ * den ganzen Stand erneut; Empfänger müssen bekannte Zeilen erkennen.
+ */
+public class ScoreJournal implements Closeable {
+
+    private static final String SNAPSHOT_HEADER = "#snapshot ";
+    private static final String JOURNAL_HEADER = "#journal ";
+    private static final int LOCK_HEADER_SIZE = 16;
+    static final long BATCH_DELAY_MILLIS = 200;
+    // Nach einem Schreibfehler bleiben die Zeilen eingereiht und werden erneut versucht
+    static final long RETRY_DELAY_MILLIS = 2000;
+    // FileLocks gelten für die ganze JVM; zwei Threads dürfen nicht gleichzeitig sperren.
+    // Der Schreib-Thread hält ihn auch, während er auf andere Instanzen wartet.
+    private static final ReentrantLock FILE_MUTEX = new ReentrantLock();
+
+    private final Path snapshotFile;
+    private final Path journalFile;
+    private final Path lockFile;
+    private final UnaryOperator<List<String>> compactor;
+    private final Object lock = new Object();
+
+    // Warteschlange, geschützt durch lock
+    private final List<String> pending = new ArrayList<>();
+    private boolean drainScheduled;
+    private boolean compacting;
+    private boolean closed;
+
+    // Dateizustand, geschützt durch FILE_MUTEX
+    private FileChannel lockChannel;
+    private FileChannel journal;
+    private long journalGeneration = -1;
+    // Bis hierhin sind die Zeilen beim Empfänger angekommen
+    private long readGeneration = -1;
+    private long readOffset;
+
+    /**
+     * Kopf der Lock-Datei.
+     */
+    private static class Header {
+        final long generation;
+        final long committed;
+
+        Header(long generation, long committed) {
+            this.generation = generation;
+            this.committed = committed;
+        }
+    }
+
+    /**
+     * Konstruktor. Journal und Lock-Datei liegen neben dem Snapshot
+     * mit den Endungen {@code .journal} und {@code .lock}.
+     * @param snapshotFile Pfad der Snapshot-Datei
+     * @param compactor Fasst alle gespeicherten Zeilen zum Inhalt des neuen Snapshots zusammen;
+     *                  läuft auf dem Schreib-Thread
+     */
+    public ScoreJournal(Path snapshotFile, UnaryOperator<List<String>> compactor) {
+        this.snapshotFile = snapshotFile;
+        this.journalFile = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".journal");
+        this.lockFile = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".lock");
+        this.compactor = compactor;
+    }
+
+    public Path getJournalFile() {
+        return journalFile;
+    }
+
+    public Path getLockFile() {
+        return lockFile;
+    }
+
+    /**
+     * Liest Snapshot und Journal und bereitet das Anhängen vor.
+     * @param sink Empfänger aller gespeicherten Zeilen in Schreibreihenfolge
+     * @throws IOException Wenn die Dateien nicht geöffnet werden können
+     */
+    public void load(Consumer<String> sink) throws IOException {
+        FILE_MUTEX.lock();
+        try {
+            lockChannel = FileChannel.open(lockFile, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            FileLock fileLock = lockChannel.lock();
+            try {
+                Header header = readAll(readHeader(), sink);
+                if (header.committed < 0) {
+                    // Kein oder veraltetes Journal: neue Generation anlegen
+                    header = new Header(header.generation, createJournal(header.generation));
+                } else {
+                    try (FileChannel channel = FileChannel.open(journalFile, StandardOpenOption.WRITE)) {
+                        channel.truncate(header.committed);
+                    }
+                }
+                writeHeader(header);
+                readGeneration = header.generation;
+                readOffset = header.committed;
+            } finally {
+                fileLock.release();
+            }
+        } finally {
+            FILE_MUTEX.unlock();
+        }
+    }
+
+    /**
+     * Liefert Zeilen, die andere Instanzen seit dem letzten Aufruf gespeichert haben.
+     * Ist der Kopf der Lock-Datei unverändert, werden nur diese 16 Byte gelesen.
+     * Schreibt gerade eine andere Instanz oder der eigene Schreib-Thread, wird
+     * nicht gewartet; die Zeilen kommen dann beim nächsten Aufruf.
+     * @param sink Empfänger der neuen Zeilen
+     * @return true, wenn Zeilen geliefert wurden
+     */
+    public boolean refresh(Consumer<String> sink) {
+        if (!FILE_MUTEX.tryLock()) {
+            return false;
+        }
+        try {
+            if (lockChannel == null || !lockChannel.isOpen()) {
+                return false;
+            }
+            try (FileLock fileLock = lockChannel.tryLock(0, Long.MAX_VALUE, true)) {
+                if (fileLock == null) {
+                    return false;
+                }
+                Header header = readHeader();
+                if (header == null
+                        || (header.generation == readGeneration && header.committed == readOffset)) {
+                    return false;
+                }
+                if (header.generation == readGeneration && header.committed > readOffset) {
+                    emitLines(readRange(readOffset, header.committed), 0, (int) (header.committed - readOffset), sink);
+                } else {
+                    // Inzwischen kompaktiert: alles neu lesen
+                    readAll(header, sink);
+                }
+                readGeneration = header.generation;
+                readOffset = header.committed;
+                return true;
+            } catch (IOException e) {
+                System.err.println("Could not refresh score journal: " + e.getMessage());
+                return false;
+            }
+        } finally {
+            FILE_MUTEX.unlock();
+        }
+    }
+
+    /**
+     * Wie {@link #refresh}, liest aber auf dem Schreib-Thread und übergibt die
+     * neuen Zeilen gesammelt über {@code callbackExecutor}, z.B. {@code Platform::runLater}.
+     * Der Empfänger wird immer aufgerufen, ohne neue Zeilen mit einer leeren Liste.
+     * @param callbackExecutor Thread des Empfängers
+     * @param sink Empfänger der neuen Zeilen
+     */
+    public void refreshAsync(Executor callbackExecutor, Consumer<List<String>> sink) {
+        Writer.EXECUTOR.execute(() -> {
+            List<String> lines = new ArrayList<>();
+            refresh(lines::add);
+            callbackExecutor.execute(() -> sink.accept(lines));
+        });
+    }
+
+    /**
+     * Reiht eine Zeile zum Anhängen ein und kehrt sofort zurück.
+     * @param line Zeile ohne Zeilenumbruch
+     */
+    public void append(String line) {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            pending.add(line);
+            if (!drainScheduled) {
+                drainScheduled = true;
+                Writer.EXECUTOR.schedule(this::drain, BATCH_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Wartet, bis alle eingereihten Zeilen geschrieben und synchronisiert sind.
+     */
+    public void flush() {
+        await(Writer.EXECUTOR.submit(this::drain));
+    }
+
+    /**
+     * Kompaktiert Snapshot und Journal im Hintergrund. Läuft bereits eine
+     * Kompaktierung, passiert nichts.
+     * @return true, wenn die Kompaktierung gestartet wurde
+     */
+    public boolean compact() {
+        synchronized (lock) {
+            if (closed || compacting) {
+                return false;
+            }
+            compacting = true;
+        }
+        Writer.EXECUTOR.execute(this::runCompaction);
+        return true;
+    }
+
+    // Ab hier nur auf dem Schreib-Thread
+
+    private void drain() {
+        FILE_MUTEX.lock();
+        try {
+            if (lockChannel == null || !lockChannel.isOpen()) {
+                return;
+            }
+            FileLock fileLock = lockChannel.lock();
+            try {
+                writePending();
+            } finally {
+                fileLock.release();
+            }
+        } catch (IOException e) {
+            System.err.println("Could not write score journal: " + e.getMessage());
+            retryLater();
+        } finally {
+            FILE_MUTEX.unlock();
+        }
+    }
+
+    /**
+     * Hängt alle eingereihten Zeilen ans bestätigte Ende an. Die Zeilen bleiben
+     * eingereiht, bis der Kopf fortgeschrieben ist; schlägt vorher etwas fehl,
+     * schreibt der nächste Versuch sie erneut an dieselbe Stelle.
+     * Aufrufer hält FILE_MUTEX und den exklusiven Lock.
+     */
+    private void writePending() throws IOException {
+        StringBuilder batch = new StringBuilder();
+        int count;
+        synchronized (lock) {
+            for (String line : pending) {
+                batch.append(line).append('\n');
+            }
+            count = pending.size();
+            drainScheduled = false;
+        }
+        if (count == 0) {
+            return;
+        }
+        Header header = readHeader();
+        if (header == null) {
+            throw new IOException("Missing header in " + lockFile);
+        }
+        if (!Files.exists(journalFile)) {
+            // Von außen gelöscht: neue Generation beginnen, damit die Zeilen nicht in einer
+            // gelöschten Datei landen. Bereits gelesene Zeilen bleiben beim Empfänger.
+            Header fresh = new Header(header.generation + 1, createJournal(header.generation + 1));
+            writeHeader(fresh);
+            if (readGeneration == header.generation && readOffset == header.committed) {
+                readGeneration = fresh.generation;
+                readOffset = fresh.committed;
+            }
+            header = fresh;
+        }
+        if (journal == null || journalGeneration != header.generation) {
+            // Nach einer Kompaktierung, auch durch eine andere Instanz, gehört die Datei zur neuen Generation
+            if (journal != null) {
+                journal.close();
+            }
+            journal = FileChannel.open(journalFile, StandardOpenOption.WRITE);
+            journalGeneration = header.generation;
+        }
+        ByteBuffer bytes = ByteBuffer.wrap(batch.toString().getBytes(StandardCharsets.UTF_8));
+        long position = header.committed;
+        try {
+            while (bytes.hasRemaining()) {
+                position += journal.write(bytes, position);
+            }
+            journal.truncate(position);
+            journal.force(false);
+        } catch (IOException e) {
+            // Der nächste Versuch öffnet die Datei neu
+            FileChannel failed = journal;
+            journal = null;
+            try {
+                failed.close();
+            } catch (IOException closeError) {
+                e.addSuppressed(closeError);
+            }
+            throw e;
+        }
+        // Erst der fortgeschriebene Kopf macht die Zeilen für andere sichtbar
+        writeHeader(new Header(header.generation, position));
+        synchronized (lock) {
+            pending.subList(0, count).clear();
+        }
+        if (readGeneration == header.generation && readOffset == header.committed) {
+            // Nichts Fremdes verpasst: die eigenen Zeilen nicht noch einmal liefern
+            readOffset = position;
+        }
+    }
+
+    /**
+     * Plant nach einem Fehler einen neuen Schreibversuch für die eingereihten Zeilen ein.
+     */
+    private void retryLater() {
+        synchronized (lock) {
+            if (!closed && !pending.isEmpty() && !drainScheduled) {
+                drainScheduled = true;
+                Writer.EXECUTOR.schedule(this::drain, RETRY_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private void runCompaction() {
+        FILE_MUTEX.lock();
+        try {
+            if (lockChannel == null || !lockChannel.isOpen()) {
+                return;
+            }
+            FileLock fileLock = lockChannel.lock();
+            try {
+                writePending();
+                Header header = readHeader();
+                List<String> lines = new ArrayList<>();
+                Header read = readAll(header, lines::add);
+                if (read.committed < 0) {
+                    return;
+                }
+
+                Path tmp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+                StringBuilder sb = new StringBuilder();
+                sb.append(SNAPSHOT_HEADER).append(read.generation).append(' ').append(read.committed).append('\n');
+                for (String line : compactor.apply(lines)) {
+                    sb.append(line).append('\n');
+                }
+                writeFile(tmp, sb.toString());
+                Files.move(tmp, snapshotFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+                // Neue Generation beginnt leer
+                long generation = read.generation + 1;
+                Header next = new Header(generation, createJournal(generation));
+                writeHeader(next);
+                if (readGeneration == header.generation && readOffset == header.committed) {
+                    // Der Snapshot enthält nur Zeilen, die der Empfänger schon kennt
+                    readGeneration = next.generation;
+                    readOffset = next.committed;
+                }
+            } finally {
+                fileLock.release();
+            }
+        } catch (IOException e) {
+            System.err.println("Could not compact score journal: " + e.getMessage());
+            retryLater();
+        } finally {
+            FILE_MUTEX.unlock();
+            synchronized (lock) {
+                compacting = false;
+            }
+        }
+    }
+
+    // Hilfsmethoden, Aufrufer hält FILE_MUTEX und einen FileLock
+
+    /**
+     * Liest Snapshot und gültigen Journal-Teil.
+     * @param header Kopf der Lock-Datei oder null bei Dateien ohne Lock-Datei
+     * @return Generation und bestätigte Länge des Journals; Länge -1, wenn
+     *         kein passendes Journal existiert und eines angelegt werden muss
+     */
+    private Header readAll(Header header, Consumer<String> sink) throws IOException {
+        long coveredGeneration = -1;
+        long coveredOffset = 0;
+        if (Files.exists(snapshotFile)) {
+            try (BufferedReader reader = Files.newBufferedReader(snapshotFile, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.startsWith(SNAPSHOT_HEADER)) {
+                        String[] parts = line.substring(SNAPSHOT_HEADER.length()).split(" ");
+                        coveredGeneration = Long.parseLong(parts[0]);
+                        coveredOffset = Long.parseLong(parts[1]);
+                    } else if (!line.isEmpty()) {
+                        sink.accept(line);
+                    }
+                }
+            }
+        }
+
+        byte[] bytes = Files.exists(journalFile) ? Files.readAllBytes(journalFile) : new byte[0];
+        int headerEnd = indexOf(bytes, 0);
+        long generation = -1;
+        if (headerEnd > 0) {
+            String line = new String(bytes, 0, headerEnd, StandardCharsets.UTF_8);
+            if (line.startsWith(JOURNAL_HEADER)) {
+                generation = Long.parseLong(line.substring(JOURNAL_HEADER.length()).trim());
+            }
+        }
+        if (generation < 0 || generation < coveredGeneration) {
+            return new Header(coveredGeneration + 1, -1);
+        }
+
+        int committed;
+        if (header != null && header.generation == generation) {
+            committed = (int) Math.min(header.committed, bytes.length);
+        } else {
+            // Ohne passenden Lock-Kopf gilt alles bis zur letzten vollständigen Zeile
+            committed = bytes.length;
+            while (committed > headerEnd + 1 && bytes[committed - 1] != '\n') {
+                committed--;
+            }
+        }
+        int start = headerEnd + 1;
+        if (generation == coveredGeneration) {
+            // Anfang dieser Generation steckt schon im Snapshot
+            start = (int) Math.max(start, Math.min(coveredOffset, committed));
+        }
+        emitLines(bytes, start, committed, sink);
+        return new Header(generation, committed);
+    }
+
+    /**
+     * Legt ein leeres Journal für eine Generation an.
+     * @return Länge der Kopfzeile
+     */
+    private long createJournal(long generation) throws IOException {
+        Path tmp = journalFile.resolveSibling(journalFile.getFileName() + ".tmp");
+        long length = writeFile(tmp, JOURNAL_HEADER + generation + "\n");
+        Files.move(tmp, journalFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return length;
+    }
+
+    private Header readHeader() throws IOException {
+        if (lockChannel.size() < LOCK_HEADER_SIZE) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(LOCK_HEADER_SIZE);
+        while (buffer.hasRemaining()) {
+            if (lockChannel.read(buffer, buffer.position()) < 0) {
+                return null;
+            }
+        }
+        buffer.flip();
+        return new Header(buffer.getLong(), buffer.getLong());
+    }
+
+    private void writeHeader(Header header) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(LOCK_HEADER_SIZE);
+        buffer.putLong(header.generation).putLong(header.committed).flip();
+        while (buffer.hasRemaining()) {
+            lockChannel.write(buffer, buffer.position());
+        }
+        lockChannel.force(false);
+    }
+
+    private byte[] readRange(long from, long to) throws IOException {
+        try (FileChannel channel = FileChannel.open(journalFile, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate((int) (to - from));
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, from + buffer.position()) < 0) {
+                    break;
+                }
+            }
+            return buffer.array();
+        }
+    }
+
+    private static void emitLines(byte[] bytes, int start, int end, Consumer<String> sink) {
+        int lineEnd;
+        while (start < end && (lineEnd = indexOf(bytes, start)) >= 0 && lineEnd < end) {
+            if (lineEnd > start) {
+                sink.accept(new String(bytes, start, lineEnd - start, StandardCharsets.UTF_8));
+            }
+            start = lineEnd + 1;
+        }
+    }
+
+    /**
+     * Schreibt eine Datei vollständig und synchronisiert sie.
+     * @return Anzahl geschriebener Bytes
+     */
+    private static long writeFile(Path file, String content) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        return buffer.limit();
+    }
+
+    private static int indexOf(byte[] bytes, int from) {
+        for (int i = from; i < bytes.length; i++) {
+            if (bytes[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Schreibt alle eingereihten Zeilen, wartet auf eine laufende Kompaktierung
+     * und schließt das Journal. Danach eingereihte Zeilen werden verworfen.
+     */
+    @Override
+    public void close() {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        await(Writer.EXECUTOR.submit(() -> {
+            drain();
+            FILE_MUTEX.lock();
+            try {
+                if (journal != null) {
+                    journal.close();
+                }
+                if (lockChannel != null) {
+                    lockChannel.close();
+                }
+            } catch (IOException e) {
+                System.err.println("Could not close score journal: " + e.getMessage());
+            } finally {
+                FILE_MUTEX.unlock();
+            }
+        }));
+    }
+
+    private static void await(Future<?> future) {
+        try {
+            future.get(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            System.err.println("Score journal writer did not finish: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Gemeinsamer Schreib-Thread aller Journale, wird erst beim ersten Zugriff angelegt.
+     * Schreiben und Kompaktieren laufen nur hier und damit in Auftragsreihenfolge.
+     */
+    private static class Writer {
+        static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "score-journal");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
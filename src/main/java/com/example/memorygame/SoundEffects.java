@@ -0,0 +1,158 @@
+package com.example.memorygame;
+
+import javafx.scene.media.AudioClip;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Soundeffekte für das Spielfeld mit eigener Lautstärke neben der Musik.
+ * <p>
+ * Alle Effekte werden beim Start als {@link AudioClip} geladen und dekodiert;
+ * {@link #play} startet danach nur noch den fertigen Clip, ohne Datei oder
+ * Player anzulegen. Ein Clip kann sich selbst überlagern, schnelle Klicks
+ * schneiden sich also nicht ab. Die Clips werden von JavaFX mit der Musik des
+ * {@link MusicManager} gemischt; beide Lautstärken sind unabhängig.
+ * <p>
+ * Liegt {@code sounds/<name>.wav} vor, wird diese Datei benutzt, sonst ein
+ * kurzer erzeugter Ton aus einem temporären Verzeichnis.
+ */
+public class SoundEffects {
+
+    private static final String SOUND_DIRECTORY = "sounds";
+    private static final int SAMPLE_RATE = 44100;
+
+    /**
+     * Verfügbare Effekte mit Dateiname und Ersatzton (Start- und Endfrequenz, Dauer).
+     */
+    public enum Effect {
+        FLIP("flip", 1400, 1100, 0.04),
+        MATCH("match", 660, 990, 0.18),
+        MISMATCH("mismatch", 330, 200, 0.22);
+
+        private final String fileName;
+        private final double startHz;
+        private final double endHz;
+        private final double seconds;
+
+        Effect(String fileName, double startHz, double endHz, double seconds) {
+            this.fileName = fileName;
+            this.startHz = startHz;
+            this.endHz = endHz;
+            this.seconds = seconds;
+        }
+    }
+
+    private final Map<Effect, AudioClip> clips = new EnumMap<>(Effect.class);
+    private double volume = 0.5;
+
+    /**
+     * Konstruktor. Lädt alle Effekte aus dem Standardverzeichnis.
+     */
+    public SoundEffects() {
+        this(Path.of(SOUND_DIRECTORY));
+    }
+
+    /**
+     * Konstruktor. Lädt alle Effekte.
+     * @param soundDirectory Verzeichnis mit eigenen WAV-Dateien
+     */
+    public SoundEffects(Path soundDirectory) {
+        Path generated = null;
+        for (Effect effect : Effect.values()) {
+            try {
+                Path file = soundDirectory.resolve(effect.fileName + ".wav");
+                if (!Files.isRegularFile(file)) {
+                    if (generated == null) {
+                        generated = Files.createTempDirectory("memory-sounds");
+                        generated.toFile().deleteOnExit();
+                    }
+                    file = generated.resolve(effect.fileName + ".wav");
+                    writeTone(file, effect.startHz, effect.endHz, effect.seconds);
+                    file.toFile().deleteOnExit();
+                }
+                clips.put(effect, new AudioClip(file.toUri().toString()));
+            } catch (IOException | RuntimeException e) {
+                // Ohne diesen Effekt weiterspielen
+                System.err.println("Could not load sound effect " + effect.fileName + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Spielt einen Effekt ab.
+     * @param effect Effekt
+     */
+    public void play(Effect effect) {
+        AudioClip clip = clips.get(effect);
+        if (clip != null && volume > 0) {
+            clip.play(volume);
+        }
+    }
+
+    /**
+     * Setzt die Lautstärke der Effekte; die Musik bleibt unverändert.
+     * @param volume Lautstärke (0-1)
+     */
+    public void setVolume(double volume) {
+        this.volume = volume;
+    }
+
+    public double getVolume() {
+        return volume;
+    }
+
+    /**
+     * Hält alle laufenden Effekte an.
+     */
+    public void stopAll() {
+        for (AudioClip clip : clips.values()) {
+            clip.stop();
+        }
+    }
+
+    /**
+     * Schreibt einen Sinuston mit Frequenzverlauf und Ausklingen als 16-Bit-Mono-WAV.
+     * @param file Zieldatei
+     * @param startHz Startfrequenz
+     * @param endHz Endfrequenz
+     * @param seconds Dauer
+     * @throws IOException Bei Schreibfehlern
+     */
+    static void writeTone(Path file, double startHz, double endHz, double seconds) throws IOException {
+        int samples = (int) (SAMPLE_RATE * seconds);
+        int dataSize = samples * 2;
+        try (OutputStream stream = Files.newOutputStream(file);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream))) {
+            out.writeBytes("RIFF");
+            out.writeInt(Integer.reverseBytes(36 + dataSize));
+            out.writeBytes("WAVEfmt ");
+            out.writeInt(Integer.reverseBytes(16));
+            out.writeShort(Short.reverseBytes((short) 1));   // PCM
+            out.writeShort(Short.reverseBytes((short) 1));   // Mono
+            out.writeInt(Integer.reverseBytes(SAMPLE_RATE));
+            out.writeInt(Integer.reverseBytes(SAMPLE_RATE * 2));
+            out.writeShort(Short.reverseBytes((short) 2));
+            out.writeShort(Short.reverseBytes((short) 16));
+            out.writeBytes("data");
+            out.writeInt(Integer.reverseBytes(dataSize));
+
+            double phase = 0;
+            int attack = Math.max(1, SAMPLE_RATE / 500);
+            for (int i = 0; i < samples; i++) {
+                double t = (double) i / samples;
+                phase += 2 * Math.PI * (startHz + (endHz - startHz) * t) / SAMPLE_RATE;
+                // Kurzes Einblenden gegen Knacken, danach exponentielles Ausklingen
+                double envelope = Math.min(1.0, (double) i / attack) * Math.exp(-4 * t);
+                short sample = (short) (Math.sin(phase) * envelope * 0.6 * Short.MAX_VALUE);
+                out.writeShort(Short.reverseBytes(sample));
+            }
+        }
+    }
+}
@@ -6,6 +6,8 @@ import javafx.scene.control.*;
 import javafx.scene.layout.VBox;
 import javafx.scene.layout.HBox;
 
+import java.time.LocalDate;
+
 /**
  * Controller für die Startseite des Spiels.
  */
@@ -14,6 +16,7 @@ public class StartPageController {
     private MemoryGame mainApp;
     private MusicManager musicManager;
     private HighscoreManager highscoreManager;
+    private PlayerProfileStore profileStore;
 
     private TextField nameInput;
     private ComboBox<String> difficultyComboBox;
@@ -23,11 +26,14 @@ public class StartPageController {
      * @param mainApp Referenz auf die Hauptanwendung.
      * @param musicManager Musikmanager.
      * @param highscoreManager Highscoremanager.
+     * @param profileStore Spielerprofile.
      */
-    public StartPageController(MemoryGame mainApp, MusicManager musicManager, HighscoreManager highscoreManager) {
+    public StartPageController(MemoryGame mainApp, MusicManager musicManager, HighscoreManager highscoreManager,
+                               PlayerProfileStore profileStore) {
         this.mainApp = mainApp;
         this.musicManager = musicManager;
         this.highscoreManager = highscoreManager;
+        this.profileStore = profileStore;
     }
 
     /**
@@ -54,7 +60,7 @@ public class StartPageController {
         difficultyLabel.setStyle("-fx-font-size: 16px; -fx-text-fill: #ffffff;");
 
         difficultyComboBox = new ComboBox<>();
-        difficultyComboBox.getItems().addAll("Einfach", "Mittel", "Schwer");
+        difficultyComboBox.getItems().addAll("Einfach", "Mittel", "Schwer", "Riesig");
         difficultyComboBox.setValue("Mittel");
         difficultyComboBox.setStyle("-fx-font-size: 14px;");
 
@@ -66,6 +72,10 @@ public class StartPageController {
         highscoreButton.setStyle("-fx-font-size: 16px; -fx-min-width: 120px;");
         highscoreButton.setOnAction(e -> showHighscores());
 
+        Button profileButton = new Button("Profile");
+        profileButton.setStyle("-fx-font-size: 16px; -fx-min-width: 120px;");
+        profileButton.setOnAction(e -> showProfile());
+
         Button musicButton = new Button("Music");
         musicButton.setStyle("-fx-font-size: 16px; -fx-min-width: 120px;");
         musicButton.setOnAction(e -> mainApp.showMusicManager());
@@ -74,11 +84,22 @@ public class StartPageController {
         exitButton.setStyle("-fx-font-size: 16px; -fx-min-width: 120px;");
         exitButton.setOnAction(e -> handleExit());
 
-        HBox buttonBox = new HBox(10, startButton, highscoreButton, musicButton, exitButton);
+        Button dailyButton = new Button("Daily Challenge");
+        dailyButton.setStyle("-fx-font-size: 16px; -fx-min-width: 120px;");
+        dailyButton.setOnAction(e -> handleDailyChallenge());
+
+        Button codeButton = new Button("Play Board Code");
+        codeButton.setStyle("-fx-font-size: 16px; -fx-min-width: 120px;");
+        codeButton.setOnAction(e -> handlePlayBoardCode());
+
+        HBox buttonBox = new HBox(10, startButton, highscoreButton, profileButton, musicButton, exitButton);
         buttonBox.setAlignment(Pos.CENTER);
 
+        HBox boardBox = new HBox(10, dailyButton, codeButton);
+        boardBox.setAlignment(Pos.CENTER);
+
         root.getChildren().addAll(titleLabel, nameLabel, nameInput, difficultyLabel,
-                difficultyComboBox, buttonBox);
+                difficultyComboBox, buttonBox, boardBox);
 
         return root;
     }
@@ -97,18 +118,84 @@ public class StartPageController {
         mainApp.switchToGameView(playerName, difficulty);
     }
 
+    /**
+     * Startet die Tagesaufgabe: heute erhalten alle Spieler im gewählten Schwierigkeitsgrad dasselbe Feld.
+     */
+    private void handleDailyChallenge() {
+        String playerName = requirePlayerName();
+        if (playerName == null) {
+            return;
+        }
+        String difficulty = difficultyComboBox.getValue();
+        mainApp.switchToGameView(playerName, difficulty, BoardGenerator.dailySeed(LocalDate.now()));
+    }
+
+    /**
+     * Fragt einen Code aus dem Gewinndialog ab und startet genau dieses Spielfeld.
+     */
+    private void handlePlayBoardCode() {
+        String playerName = requirePlayerName();
+        if (playerName == null) {
+            return;
+        }
+        TextInputDialog codeDialog = new TextInputDialog();
+        codeDialog.setTitle("Play Board Code");
+        codeDialog.setHeaderText("Enter a board code, e.g. Schwer-3w5e11264sgsg");
+        codeDialog.setContentText("Board code:");
+        var input = codeDialog.showAndWait();
+        if (input.isEmpty()) {
+            return;
+        }
+
+        String code = input.get().trim();
+        String difficulty;
+        long seed;
+        try {
+            difficulty = BoardGenerator.difficultyFromShareCode(code);
+            seed = BoardGenerator.seedFromShareCode(code);
+        } catch (IllegalArgumentException e) {
+            // Auch NumberFormatException bei ungültigem Seed
+            difficulty = null;
+            seed = 0;
+        }
+        if (difficulty == null || !difficultyComboBox.getItems().contains(difficulty)) {
+            DialogUtils.showError("Input Error", "Invalid board code: " + code);
+            return;
+        }
+        difficultyComboBox.setValue(difficulty);
+        mainApp.switchToGameView(playerName, difficulty, seed);
+    }
+
+    /**
+     * Gibt den eingegebenen Namen zurück oder meldet, dass er fehlt.
+     * @return Name oder null
+     */
+    private String requirePlayerName() {
+        String playerName = nameInput.getText().trim();
+        if (playerName.isEmpty()) {
+            DialogUtils.showError("Input Error", "Please enter your name!");
+            return null;
+        }
+        return playerName;
+    }
+
     /**
      * Zeigt die Highscores an.
      */
     private void showHighscores() {
-        Alert highscoreAlert = new Alert(Alert.AlertType.INFORMATION);
-        highscoreAlert.setTitle("High Scores");
-        highscoreAlert.setHeaderText("Best Times");
-
-        String highscoreText = highscoreManager.getFormattedHighscores();
-        highscoreAlert.setContentText(highscoreText);
+        mainApp.showLeaderboard(difficultyComboBox.getValue());
+    }
 
-        highscoreAlert.showAndWait();
+    /**
+     * Zeigt das Profil des eingegebenen Spielers an.
+     */
+    private void showProfile() {
+        String playerName = nameInput.getText().trim();
+        if (playerName.isEmpty()) {
+            DialogUtils.showError("Input Error", "Please enter your name!");
+            return;
+        }
+        DialogUtils.showInformation("Player Profile - " + playerName, profileStore.getFormattedProfile(playerName));
     }
 
     /**
@@ -0,0 +1,167 @@
+package com.example.memorygame;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.random.RandomGenerator;
+
+/**
+ * Unveränderlicher, unbegrenzter Katalog der Spielsymbole.
+ * <p>
+ * Jede Symbol-ID steht immer für dasselbe Symbol:
+ * <ul>
+ *   <li>0 bis 163: die klassischen Symbole (A-Z, a-z, 0-99, Kartensymbole usw.)</li>
+ *   <li>danach Pfeile, geometrische Formen, Sonder- und Dingbat-Zeichen</li>
+ *   <li>danach CJK-Schriftzeichen (U+4E00 bis U+9FFF)</li>
+ *   <li>danach Buchstabenkombinationen ab zwei Zeichen ("AA", "AB", ...)</li>
+ * </ul>
+ * Symbole jenseits der klassischen werden erst bei Bedarf erzeugt und
+ * danach als einzige Instanz wiederverwendet.
+ */
+public final class SymbolCatalogue {
+
+    /**
+     * Größe des klassischen Symbolvorrats; kleinere Spielfelder ziehen nur daraus.
+     */
+    public static final int CLASSIC_SIZE;
+
+    private static final String[] CLASSIC_SYMBOLS;
+    private static final int[] EXTRA_CODE_POINTS;
+    private static final int CJK_FIRST = 0x4E00;
+    private static final int CJK_COUNT = 0x9FFF - 0x4E00 + 1;
+    private static final String LETTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+
+    private static final ConcurrentHashMap<Integer, String> GENERATED = new ConcurrentHashMap<>();
+    private static final ThreadLocal<int[][]> SCRATCH = ThreadLocal.withInitial(() -> new int[][]{new int[0], new int[0]});
+
+    static {
+        String[] specialSymbols = {"♠", "♣", "♥", "♦", "★", "☆", "♪", "♫", "☀", "☽", "☂", "☃"};
+        CLASSIC_SYMBOLS = new String[26 + 26 + 100 + specialSymbols.length];
+        int n = 0;
+        for (char c = 'A'; c <= 'Z'; c++) {
+            CLASSIC_SYMBOLS[n++] = String.valueOf(c).intern();
+        }
+        for (char c = 'a'; c <= 'z'; c++) {
+            CLASSIC_SYMBOLS[n++] = String.valueOf(c).intern();
+        }
+        for (int i = 0; i < 100; i++) {
+            CLASSIC_SYMBOLS[n++] = String.valueOf(i).intern();
+        }
+        for (String symbol : specialSymbols) {
+            CLASSIC_SYMBOLS[n++] = symbol.intern();
+        }
+        CLASSIC_SIZE = n;
+
+        // Pfeile, geometrische Formen, Sonderzeichen, Dingbats - ohne die klassischen Zeichen
+        int[][] ranges = {{0x2190, 0x21FF}, {0x25A0, 0x25FF}, {0x2600, 0x26FF}, {0x2701, 0x27BF}};
+        int[] codePoints = new int[512];
+        int count = 0;
+        for (int[] range : ranges) {
+            for (int cp = range[0]; cp <= range[1]; cp++) {
+                if (!isClassic(cp)) {
+                    if (count == codePoints.length) {
+                        codePoints = Arrays.copyOf(codePoints, count * 2);
+                    }
+                    codePoints[count++] = cp;
+                }
+            }
+        }
+        EXTRA_CODE_POINTS = Arrays.copyOf(codePoints, count);
+    }
+
+    private SymbolCatalogue() {
+    }
+
+    private static boolean isClassic(int codePoint) {
+        for (String symbol : CLASSIC_SYMBOLS) {
+            if (symbol.codePointAt(0) == codePoint && symbol.length() == Character.charCount(codePoint)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gibt das Symbol zu einer ID zurück.
+     * @param id Symbol-ID (ab 0)
+     * @return Symbol
+     */
+    public static String symbolAt(int id) {
+        if (id < 0) {
+            throw new IllegalArgumentException("Symbol id must not be negative: " + id);
+        }
+        if (id < CLASSIC_SIZE) {
+            return CLASSIC_SYMBOLS[id];
+        }
+        // Wie die klassischen Symbole interniert, damit gleiche Zeichen überall dieselbe Instanz sind
+        return GENERATED.computeIfAbsent(id, key -> createSymbol(key).intern());
+    }
+
+    private static String createSymbol(int id) {
+        int index = id - CLASSIC_SIZE;
+        if (index < EXTRA_CODE_POINTS.length) {
+            return Character.toString(EXTRA_CODE_POINTS[index]);
+        }
+        index -= EXTRA_CODE_POINTS.length;
+        if (index < CJK_COUNT) {
+            return Character.toString(CJK_FIRST + index);
+        }
+        index -= CJK_COUNT;
+
+        // Bijektive Basis-52-Zahl, beginnend nach den einstelligen Buchstaben
+        long value = (long) index + LETTERS.length() + 1;
+        StringBuilder sb = new StringBuilder(4);
+        while (value > 0) {
+            value--;
+            sb.append(LETTERS.charAt((int) (value % LETTERS.length())));
+            value /= LETTERS.length();
+        }
+        return sb.reverse().toString();
+    }
+
+    /**
+     * Wählt {@code count} verschiedene Symbol-IDs zufällig aus.
+     * <p>
+     * Gezogen wird aus den ersten {@code max(count, CLASSIC_SIZE)} IDs per
+     * partiellem Fisher–Yates über ein wiederverwendetes Index-Array. Die
+     * Vertauschungen werden danach rückgängig gemacht, daher kostet ein
+     * Aufruf O(count).
+     * @param count Anzahl der Symbole
+     * @param random Zufallsquelle
+     * @return Symbol-IDs
+     */
+    public static int[] selectIds(int count, RandomGenerator random) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Symbol count must not be negative: " + count);
+        }
+        int poolSize = Math.max(count, CLASSIC_SIZE);
+        int[][] scratch = SCRATCH.get();
+        int[] indices = scratch[0];
+        if (indices.length < poolSize) {
+            int oldLength = indices.length;
+            indices = Arrays.copyOf(indices, poolSize);
+            for (int i = oldLength; i < poolSize; i++) {
+                indices[i] = i;
+            }
+            scratch[0] = indices;
+            scratch[1] = new int[poolSize];
+        }
+        int[] swaps = scratch[1];
+
+        int[] selected = new int[count];
+        for (int i = 0; i < count; i++) {
+            int j = i + random.nextInt(poolSize - i);
+            swaps[i] = j;
+            int tmp = indices[i];
+            indices[i] = indices[j];
+            indices[j] = tmp;
+            selected[i] = indices[i];
+        }
+        for (int i = count - 1; i >= 0; i--) {
+            int j = swaps[i];
+            int tmp = indices[i];
+            indices[i] = indices[j];
+            indices[j] = tmp;
+        }
+        return selected;
+    }
+}
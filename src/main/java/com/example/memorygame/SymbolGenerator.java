@@ -1,6 +1,7 @@
 package com.example.memorygame;
 
-import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * Generiert Symbole für das Memory-Spiel.
@@ -8,48 +9,27 @@ import java.util.*;
 public class SymbolGenerator {
 
     /**
-     * Generiert eine Liste von eindeutigen Symbolen.
+     * Generiert eine Liste von eindeutigen Symbolen aus dem {@link SymbolCatalogue}.
      * @param count Anzahl der benötigten Symbole.
      * @return Array mit Symbolen.
      */
     public static String[] generateSymbols(int count) {
-        List<String> symbolPool = createSymbolPool();
-
-        if (symbolPool.size() < count) {
-            throw new IllegalStateException("Not enough unique symbols available for grid size.");
-        }
-
-        Collections.shuffle(symbolPool);
-        String[] selectedSymbols = new String[count];
-        for (int i = 0; i < count; i++) {
-            selectedSymbols[i] = symbolPool.get(i);
-        }
-
-        return selectedSymbols;
+        return generateSymbols(count, ThreadLocalRandom.current());
     }
 
     /**
-     * Erstellt den Symbolpool.
-     * @return Liste mit Symbolen.
+     * Generiert eindeutige Symbole mit der angegebenen Zufallsquelle.
+     * Gleiche Zufallsquelle ergibt gleiche Symbole.
+     * @param count Anzahl der benötigten Symbole.
+     * @param random Zufallsquelle.
+     * @return Array mit Symbolen.
      */
-    private static List<String> createSymbolPool() {
-        List<String> pool = new ArrayList<>();
-
-        for (char c = 'A'; c <= 'Z'; c++) {
-            pool.add(String.valueOf(c));
-        }
-
-        for (char c = 'a'; c <= 'z'; c++) {
-            pool.add(String.valueOf(c));
-        }
-
-        for (int i = 0; i < 100; i++) {
-            pool.add(String.valueOf(i));
+    public static String[] generateSymbols(int count, RandomGenerator random) {
+        int[] ids = SymbolCatalogue.selectIds(count, random);
+        String[] selectedSymbols = new String[count];
+        for (int i = 0; i < count; i++) {
+            selectedSymbols[i] = SymbolCatalogue.symbolAt(ids[i]);
         }
-
-        String[] specialSymbols = {"♠", "♣", "♥", "♦", "★", "☆", "♪", "♫", "☀", "☽", "☂", "☃"};
-        pool.addAll(Arrays.asList(specialSymbols));
-
-        return pool;
+        return selectedSymbols;
     }
-}
\ No newline at end of file
+}
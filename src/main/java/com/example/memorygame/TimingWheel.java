@@ -0,0 +1,429 @@
+package com.example.memorygame;
+
+import javafx.animation.AnimationTimer;
+
+/**
+ * Gemeinsamer Scheduler für alle Zeitgeber des Spiels (Verdeck-Pausen, Uhr-Ticks usw.).
+ * <p>
+ * Aufgebaut als hierarchisches Timing-Wheel mit vier Ebenen zu je 64 Slots.
+ * Einplanen, Abbrechen und Auslösen kosten O(1); die Aufgaben sind
+ * wiederverwendbare {@link Task}-Objekte, sodass ein erneutes Einplanen
+ * nichts allokiert.
+ * <p>
+ * Zeit wird nur über {@link #advanceTo(long)} weitergeschaltet. Im Echtzeitmodus
+ * ({@link #fxDriven}) übernimmt das der JavaFX-Pulse, im virtuellen Modus
+ * ({@link #virtual}) ruft man {@link #advanceBy(long)} selbst auf, etwa in
+ * Simulationen, die nicht auf die Wanduhr warten sollen. Aufgaben laufen
+ * höchstens einen Tick (5 ms echt, 1 ms virtuell) nach ihrer Fälligkeit.
+ * <p>
+ * Jede Aufgabe gehört zu einer {@link Group} (z.B. ein Spiel). Eine Gruppe hat
+ * eine eigene Uhr, die beim Pausieren stehen bleibt; ihre Aufgaben werden
+ * währenddessen zurückgehalten und laufen nach {@link Group#resume()} mit der
+ * Restzeit weiter.
+ */
+public class TimingWheel {
+
+    private static final int LEVELS = 4;
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final long MAX_DELTA = (1L << (SLOT_BITS * LEVELS)) - 1;
+
+    private final long tickNanos;
+    private final Task[][] wheel = new Task[LEVELS][SLOTS];
+    private long currentTick;
+    private long now;
+    private int scheduledCount;
+    private Runnable stopDriver;
+
+    /**
+     * Konstruktor.
+     * @param tickNanos Auflösung eines Ticks in Nanosekunden
+     * @param startNanos Startzeit
+     */
+    public TimingWheel(long tickNanos, long startNanos) {
+        if (tickNanos <= 0) {
+            throw new IllegalArgumentException("Tick must be positive: " + tickNanos);
+        }
+        this.tickNanos = tickNanos;
+        this.now = startNanos;
+        this.currentTick = startNanos / tickNanos;
+    }
+
+    /**
+     * Erstellt einen Scheduler, der vom JavaFX-Pulse angetrieben wird (Echtzeit).
+     * @return Scheduler
+     */
+    public static TimingWheel fxDriven() {
+        TimingWheel wheel = new TimingWheel(5_000_000L, System.nanoTime());
+        FxDriver driver = new FxDriver(wheel);
+        driver.start();
+        wheel.stopDriver = driver::stop;
+        return wheel;
+    }
+
+    /**
+     * Erstellt einen Scheduler mit virtueller Zeit, der nur per {@link #advanceBy} weiterläuft.
+     * @return Scheduler
+     */
+    public static TimingWheel virtual() {
+        return new TimingWheel(1_000_000L, 0);
+    }
+
+    /**
+     * Hält den JavaFX-Antrieb an (falls vorhanden).
+     */
+    public void shutdown() {
+        if (stopDriver != null) {
+            stopDriver.run();
+        }
+    }
+
+    /**
+     * Gibt die aktuelle Zeit des Schedulers zurück.
+     * @return Nanosekunden
+     */
+    public long nanoTime() {
+        return now;
+    }
+
+    /**
+     * Erstellt eine neue Gruppe mit eigener, pausierbarer Uhr.
+     * @return Gruppe
+     */
+    public Group createGroup() {
+        return new Group();
+    }
+
+    /**
+     * Schaltet die Zeit um {@code nanos} weiter und löst fällige Aufgaben aus.
+     * @param nanos Zeitspanne
+     */
+    public void advanceBy(long nanos) {
+        advanceTo(now + nanos);
+    }
+
+    /**
+     * Schaltet die Zeit bis {@code targetNanos} weiter und löst fällige Aufgaben aus.
+     * @param targetNanos Zielzeit
+     */
+    public void advanceTo(long targetNanos) {
+        if (targetNanos <= now) {
+            return;
+        }
+        long targetTick = targetNanos / tickNanos;
+        while (currentTick < targetTick) {
+            if (scheduledCount == 0) {
+                // Nichts eingeplant: direkt springen
+                currentTick = targetTick;
+                break;
+            }
+            currentTick++;
+            now = Math.max(now, currentTick * tickNanos);
+            cascadeIfNeeded();
+            expireSlot();
+        }
+        now = targetNanos;
+    }
+
+    private void cascadeIfNeeded() {
+        long tick = currentTick;
+        for (int level = 1; level < LEVELS; level++) {
+            if ((tick & SLOT_MASK) != 0) {
+                return;
+            }
+            tick >>>= SLOT_BITS;
+            int slot = (int) (tick & SLOT_MASK);
+            Task head = wheel[level][slot];
+            wheel[level][slot] = null;
+            while (head != null) {
+                Task next = head.next;
+                head.prev = null;
+                head.next = null;
+                head.level = -1;
+                scheduledCount--;
+                insert(head);
+                head = next;
+            }
+        }
+    }
+
+    private void expireSlot() {
+        int slot = (int) (currentTick & SLOT_MASK);
+        // Einzeln aushängen: eine Aufgabe darf andere Aufgaben desselben Slots
+        // abbrechen oder neu einplanen, ohne die Liste zu beschädigen
+        Task head;
+        while ((head = wheel[0][slot]) != null) {
+            remove(head);
+            if (head.expiryTick > currentTick) {
+                insert(head);
+            } else {
+                head.group.fire(head);
+            }
+        }
+    }
+
+    private void insert(Task task) {
+        long expiry = Math.max(task.expiryTick, currentTick + 1);
+        long delta = Math.min(expiry - currentTick, MAX_DELTA);
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        long slotTick = currentTick + delta;
+        int slot = (int) ((slotTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+
+        Task head = wheel[level][slot];
+        task.next = head;
+        task.prev = null;
+        if (head != null) {
+            head.prev = task;
+        }
+        wheel[level][slot] = task;
+        task.level = level;
+        task.slot = slot;
+        scheduledCount++;
+    }
+
+    private void remove(Task task) {
+        if (task.level < 0) {
+            return;
+        }
+        if (task.prev != null) {
+            task.prev.next = task.next;
+        } else {
+            wheel[task.level][task.slot] = task.next;
+        }
+        if (task.next != null) {
+            task.next.prev = task.prev;
+        }
+        task.prev = null;
+        task.next = null;
+        task.level = -1;
+        scheduledCount--;
+    }
+
+    /**
+     * Treibt das Wheel im Echtzeitmodus vom JavaFX-Pulse an. Eigene Klasse, damit
+     * der virtuelle Modus (z.B. im Simulator) ohne JavaFX auskommt.
+     */
+    private static class FxDriver extends AnimationTimer {
+        private final TimingWheel wheel;
+
+        FxDriver(TimingWheel wheel) {
+            this.wheel = wheel;
+        }
+
+        @Override
+        public void handle(long pulseNanos) {
+            wheel.advanceTo(System.nanoTime());
+        }
+    }
+
+    /**
+     * Wiederverwendbare Aufgabe. Unterklassen implementieren {@link #run()}.
+     */
+    public abstract static class Task {
+        private Task prev;
+        private Task next;
+        private int level = -1;
+        private int slot;
+        private long expiryTick;
+        private long dueGroupNanos;
+        private long periodNanos;
+        private boolean scheduled;
+        private boolean held;
+        private Task nextHeld;
+        private Group group;
+
+        /**
+         * Wird ausgeführt, wenn die Aufgabe fällig ist.
+         */
+        public abstract void run();
+
+        /**
+         * Gibt zurück, ob die Aufgabe eingeplant ist.
+         * @return true, wenn eingeplant
+         */
+        public boolean isScheduled() {
+            return scheduled;
+        }
+    }
+
+    /**
+     * Erstellt eine Aufgabe aus einem Runnable.
+     * @param action Auszuführende Aktion
+     * @return Aufgabe
+     */
+    public static Task task(Runnable action) {
+        return new Task() {
+            @Override
+            public void run() {
+                action.run();
+            }
+        };
+    }
+
+    /**
+     * Gruppe von Aufgaben mit eigener, pausierbarer Uhr (z.B. ein Spiel).
+     */
+    public class Group {
+        private long pausedNanos;
+        private long pauseStart;
+        private boolean paused;
+        private Task heldHead;
+
+        private Group() {
+        }
+
+        /**
+         * Gibt die Zeit dieser Gruppe zurück; sie steht während einer Pause still.
+         * @return Nanosekunden
+         */
+        public long nanoTime() {
+            return (paused ? pauseStart : now) - pausedNanos;
+        }
+
+        /**
+         * Plant eine einmalige Aufgabe ein. Ist sie schon eingeplant, wird sie verschoben.
+         * @param task Aufgabe
+         * @param delayNanos Verzögerung in Gruppenzeit
+         */
+        public void schedule(Task task, long delayNanos) {
+            arm(task, delayNanos, 0);
+        }
+
+        /**
+         * Plant eine wiederkehrende Aufgabe ein.
+         * @param task Aufgabe
+         * @param periodNanos Periode in Gruppenzeit
+         */
+        public void scheduleAtFixedRate(Task task, long periodNanos) {
+            if (periodNanos <= 0) {
+                throw new IllegalArgumentException("Period must be positive: " + periodNanos);
+            }
+            arm(task, periodNanos, periodNanos);
+        }
+
+        private void arm(Task task, long delayNanos, long periodNanos) {
+            cancel(task);
+            task.group = this;
+            task.periodNanos = periodNanos;
+            task.dueGroupNanos = nanoTime() + Math.max(0, delayNanos);
+            task.scheduled = true;
+            if (paused) {
+                hold(task);
+            } else {
+                enqueue(task);
+            }
+        }
+
+        /**
+         * Bricht eine Aufgabe ab.
+         * @param task Aufgabe
+         */
+        public void cancel(Task task) {
+            if (!task.scheduled || task.group != this) {
+                return;
+            }
+            task.scheduled = false;
+            if (task.held) {
+                unhold(task);
+            } else {
+                remove(task);
+            }
+        }
+
+        /**
+         * Hält die Uhr dieser Gruppe an; fällige Aufgaben werden zurückgehalten.
+         */
+        public void pause() {
+            if (!paused) {
+                paused = true;
+                pauseStart = now;
+            }
+        }
+
+        /**
+         * Lässt die Uhr weiterlaufen und plant zurückgehaltene Aufgaben neu ein.
+         */
+        public void resume() {
+            if (!paused) {
+                return;
+            }
+            pausedNanos += now - pauseStart;
+            paused = false;
+            Task task = heldHead;
+            heldHead = null;
+            while (task != null) {
+                Task next = task.nextHeld;
+                task.nextHeld = null;
+                task.held = false;
+                enqueue(task);
+                task = next;
+            }
+        }
+
+        /**
+         * Gibt zurück, ob die Gruppe pausiert ist.
+         * @return true, wenn pausiert
+         */
+        public boolean isPaused() {
+            return paused;
+        }
+
+        private void enqueue(Task task) {
+            long remaining = task.dueGroupNanos - nanoTime();
+            task.expiryTick = (now + Math.max(0, remaining) + tickNanos - 1) / tickNanos;
+            insert(task);
+        }
+
+        private void hold(Task task) {
+            task.held = true;
+            task.nextHeld = heldHead;
+            heldHead = task;
+        }
+
+        private void unhold(Task task) {
+            Task prev = null;
+            for (Task t = heldHead; t != null; t = t.nextHeld) {
+                if (t == task) {
+                    if (prev == null) {
+                        heldHead = t.nextHeld;
+                    } else {
+                        prev.nextHeld = t.nextHeld;
+                    }
+                    break;
+                }
+                prev = t;
+            }
+            task.nextHeld = null;
+            task.held = false;
+        }
+
+        /**
+         * Wird vom Wheel aufgerufen, wenn eine Aufgabe der Gruppe abgelaufen ist.
+         */
+        private void fire(Task task) {
+            if (!task.scheduled) {
+                return;
+            }
+            if (paused) {
+                hold(task);
+                return;
+            }
+            if (task.dueGroupNanos > nanoTime()) {
+                // Verschoben durch eine zwischenzeitliche Pause
+                enqueue(task);
+                return;
+            }
+            if (task.periodNanos > 0) {
+                task.dueGroupNanos += task.periodNanos;
+                enqueue(task);
+            } else {
+                task.scheduled = false;
+            }
+            task.run();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.memorygame.simulation;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Basisklasse für Strategien. Verwaltet die noch offenen Felder so,
+ * dass Entfernen und zufälliges Ziehen O(1) kosten.
+ */
+public abstract class AbstractStrategy implements PlayerStrategy {
+
+    protected int[] open = new int[0];
+    protected int[] openPosition = new int[0];
+    protected int openCount;
+
+    @Override
+    public void newGame(int cellCount) {
+        if (open.length != cellCount) {
+            open = new int[cellCount];
+            openPosition = new int[cellCount];
+        }
+        for (int i = 0; i < cellCount; i++) {
+            open[i] = i;
+            openPosition[i] = i;
+        }
+        openCount = cellCount;
+    }
+
+    @Override
+    public void onMatched(int first, int second) {
+        removeOpen(first);
+        removeOpen(second);
+    }
+
+    /**
+     * Prüft, ob ein Feld noch nicht gefunden wurde.
+     * @param cell Feldindex
+     * @return true, wenn offen
+     */
+    protected boolean isOpen(int cell) {
+        return openPosition[cell] >= 0;
+    }
+
+    /**
+     * Zieht ein zufälliges offenes Feld, das nicht {@code exclude} ist.
+     * @param random Zufallsquelle
+     * @param exclude Auszuschließendes Feld oder -1
+     * @return Feldindex
+     */
+    protected int randomOpen(RandomGenerator random, int exclude) {
+        if (exclude < 0 || !isOpen(exclude)) {
+            return open[random.nextInt(openCount)];
+        }
+        // Nur aus den ersten n-1 Plätzen ziehen; ein Treffer auf exclude wird durch den letzten Platz ersetzt
+        int last = openCount - 1;
+        int pick = random.nextInt(last);
+        int cell = open[pick];
+        return cell == exclude ? open[last] : cell;
+    }
+
+    private void removeOpen(int cell) {
+        int pos = openPosition[cell];
+        if (pos < 0) {
+            return;
+        }
+        int last = open[--openCount];
+        open[pos] = last;
+        openPosition[last] = pos;
+        openPosition[cell] = -1;
+    }
+}
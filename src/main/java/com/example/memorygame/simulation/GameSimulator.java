@@ -0,0 +1,148 @@
+package com.example.memorygame.simulation;
+
+import com.example.memorygame.GameModel;
+import com.example.memorygame.GameSettings;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+/**
+ * Spielt komplette Partien ohne JavaFX gegen das {@link GameModel}.
+ * <p>
+ * Die Spiele werden per Fork/Join auf alle Kerne verteilt; jeder Teilauftrag
+ * hat ein eigenes Modell, eine eigene Strategie-Instanz und einen
+ * abgespaltenen {@link SplittableRandom}, aus dem auch die Spielfeld-Seeds stammen.
+ * <p>
+ * Aufruf: {@code GameSimulator [spiele]}
+ */
+public class GameSimulator {
+
+    private static final int GAMES_PER_TASK = 512;
+    private static final List<String> DIFFICULTIES = List.of("Einfach", "Mittel", "Schwer");
+
+    /**
+     * Simuliert die gegebene Anzahl Spiele.
+     * @param settings Spieleinstellungen
+     * @param strategyFactory Erzeugt eine Strategie pro Teilauftrag
+     * @param games Anzahl der Spiele
+     * @param seed Startwert; gleicher Seed ergibt dieselben Spielfelder und Züge
+     * @return Ergebnis
+     */
+    public static SimulationResult simulate(GameSettings settings, Supplier<? extends PlayerStrategy> strategyFactory,
+                                            int games, long seed) {
+        long start = System.nanoTime();
+        SimulationResult result = ForkJoinPool.commonPool()
+                .invoke(new SimulationTask(settings, strategyFactory, games, new SplittableRandom(seed)));
+        result.setElapsedNanos(System.nanoTime() - start);
+        return result;
+    }
+
+    /**
+     * Spielt eine einzelne Partie bis zum Sieg.
+     * @param model Spielmodell (wird neu initialisiert)
+     * @param settings Spieleinstellungen
+     * @param strategy Strategie
+     * @param random Zufallsquelle für Spielfeld und Strategie
+     * @return Anzahl der Versuche
+     */
+    public static int playGame(GameModel model, GameSettings settings, PlayerStrategy strategy, SplittableRandom random) {
+        model.initialize(settings, random.nextLong());
+        int gridSize = settings.getGridSize();
+        strategy.newGame(gridSize * gridSize);
+
+        while (!model.isGameWon()) {
+            int first = strategy.chooseFirst(random);
+            click(model, strategy, first, gridSize);
+            int second = strategy.chooseSecond(first, random);
+            click(model, strategy, second, gridSize);
+
+            model.incrementAttempts();
+            int row1 = first / gridSize, col1 = first % gridSize;
+            int row2 = second / gridSize, col2 = second % gridSize;
+            if (model.isMatch(row1, col1, row2, col2)) {
+                model.markAsRevealed(row1, col1);
+                model.markAsRevealed(row2, col2);
+                model.incrementPairs();
+                strategy.onMatched(first, second);
+            }
+            model.clearClickedPositions();
+        }
+        return model.getAttempts();
+    }
+
+    private static void click(GameModel model, PlayerStrategy strategy, int cell, int gridSize) {
+        int row = cell / gridSize;
+        int col = cell % gridSize;
+        if (!model.canClick(row, col)) {
+            throw new IllegalStateException("Strategy " + strategy + " chose unclickable cell " + row + "," + col);
+        }
+        model.addClickedPosition(row, col);
+        strategy.onRevealed(cell, model.getPairId(row, col));
+    }
+
+    /**
+     * Teilt die Spiele rekursiv auf, bis ein Teilauftrag klein genug ist.
+     */
+    private static class SimulationTask extends RecursiveTask<SimulationResult> {
+        // Nur wegen ForkJoinTask serialisierbar; wird nie serialisiert
+        private static final long serialVersionUID = 1L;
+
+        private final transient GameSettings settings;
+        private final transient Supplier<? extends PlayerStrategy> strategyFactory;
+        private final int games;
+        private final transient SplittableRandom random;
+
+        SimulationTask(GameSettings settings, Supplier<? extends PlayerStrategy> strategyFactory,
+                       int games, SplittableRandom random) {
+            this.settings = settings;
+            this.strategyFactory = strategyFactory;
+            this.games = games;
+            this.random = random;
+        }
+
+        @Override
+        protected SimulationResult compute() {
+            if (games <= GAMES_PER_TASK) {
+                GameModel model = new GameModel();
+                PlayerStrategy strategy = strategyFactory.get();
+                SimulationResult result = new SimulationResult();
+                for (int i = 0; i < games; i++) {
+                    result.record(playGame(model, settings, strategy, random));
+                }
+                return result;
+            }
+            int half = games / 2;
+            SimulationTask left = new SimulationTask(settings, strategyFactory, half, random.split());
+            SimulationTask right = new SimulationTask(settings, strategyFactory, games - half, random.split());
+            left.fork();
+            SimulationResult rightResult = right.compute();
+            return left.join().merge(rightResult);
+        }
+    }
+
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        List<Supplier<PlayerStrategy>> strategies = List.of(
+                RandomStrategy::new,
+                () -> MemoryStrategy.bounded(8),
+                MemoryStrategy::perfect);
+
+        System.out.printf("%d games per run on %d threads%n", games, ForkJoinPool.commonPool().getParallelism());
+        System.out.printf("%-8s %-10s %12s %8s %5s %5s %5s %5s %5s %10s%n",
+                "level", "strategy", "games/s", "mean", "min", "p50", "p90", "p99", "max", "pause(s)");
+        for (String difficulty : DIFFICULTIES) {
+            GameSettings settings = GameSettings.fromDifficulty(difficulty);
+            for (Supplier<PlayerStrategy> factory : strategies) {
+                SimulationResult result = simulate(settings, factory, games, difficulty.hashCode());
+                System.out.printf("%-8s %-10s %12.0f %8.2f %5d %5d %5d %5d %5d %10.1f%n",
+                        difficulty, factory.get(), result.getGamesPerSecond(), result.getMeanAttempts(),
+                        result.getMinAttempts(), result.percentile(50), result.percentile(90),
+                        result.percentile(99), result.getMaxAttempts(),
+                        result.getMeanAttempts() * settings.getPauseTime());
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.memorygame.simulation;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Strategie mit Gedächtnis. Merkt sich die zuletzt gesehenen Felder und
+ * deckt bekannte Paare sofort auf.
+ * <p>
+ * Mit {@link #perfect()} wird jedes gesehene Feld behalten, mit
+ * {@link #bounded(int)} nur die letzten {@code capacity} Aufdeckungen.
+ */
+public class MemoryStrategy extends AbstractStrategy {
+
+    private static final long NEVER = Long.MIN_VALUE;
+    private static final int RANDOM_TRIES = 16;
+
+    private final long capacity;
+
+    private long clock;
+    private long[] seenAt = new long[0];
+    private int[] cellPair = new int[0];
+    private int[] knownA = new int[0];
+    private int[] knownB = new int[0];
+    private int[] pendingPairs = new int[0];
+    private int pendingCount;
+    private int plannedSecond;
+
+    private MemoryStrategy(long capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Erstellt eine Strategie mit unbegrenztem Gedächtnis.
+     * @return Strategie
+     */
+    public static MemoryStrategy perfect() {
+        return new MemoryStrategy(Long.MAX_VALUE);
+    }
+
+    /**
+     * Erstellt eine Strategie, die sich nur die letzten Aufdeckungen merkt.
+     * @param capacity Anzahl der gemerkten Aufdeckungen
+     * @return Strategie
+     */
+    public static MemoryStrategy bounded(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        return new MemoryStrategy(capacity);
+    }
+
+    @Override
+    public void newGame(int cellCount) {
+        super.newGame(cellCount);
+        int pairs = cellCount / 2;
+        if (seenAt.length != cellCount) {
+            seenAt = new long[cellCount];
+            cellPair = new int[cellCount];
+            knownA = new int[pairs];
+            knownB = new int[pairs];
+            pendingPairs = new int[cellCount];
+        }
+        Arrays.fill(seenAt, NEVER);
+        Arrays.fill(cellPair, -1);
+        Arrays.fill(knownA, -1);
+        Arrays.fill(knownB, -1);
+        clock = 0;
+        pendingCount = 0;
+        plannedSecond = -1;
+    }
+
+    @Override
+    public int chooseFirst(RandomGenerator random) {
+        while (pendingCount > 0) {
+            int pair = pendingPairs[--pendingCount];
+            int a = knownA[pair];
+            int b = knownB[pair];
+            if (a >= 0 && b >= 0 && isOpen(a) && isOpen(b) && remembers(a) && remembers(b)) {
+                plannedSecond = b;
+                return a;
+            }
+        }
+        return randomUnknown(random, -1);
+    }
+
+    @Override
+    public int chooseSecond(int first, RandomGenerator random) {
+        if (plannedSecond >= 0) {
+            int second = plannedSecond;
+            plannedSecond = -1;
+            return second;
+        }
+        int pair = cellPair[first];
+        if (pair >= 0) {
+            int other = knownA[pair] == first ? knownB[pair] : knownA[pair];
+            if (other >= 0 && other != first && isOpen(other) && remembers(other)) {
+                return other;
+            }
+        }
+        return randomUnknown(random, first);
+    }
+
+    @Override
+    public void onRevealed(int cell, int pairId) {
+        seenAt[cell] = ++clock;
+        cellPair[cell] = pairId;
+        if (knownA[pairId] >= 0 && !remembers(knownA[pairId])) {
+            knownA[pairId] = -1;
+        }
+        if (knownB[pairId] >= 0 && !remembers(knownB[pairId])) {
+            knownB[pairId] = -1;
+        }
+        if (knownA[pairId] == cell || knownB[pairId] == cell) {
+            return;
+        }
+        if (knownA[pairId] < 0) {
+            knownA[pairId] = cell;
+        } else {
+            knownB[pairId] = cell;
+        }
+        if (knownA[pairId] >= 0 && knownB[pairId] >= 0 && pendingCount < pendingPairs.length) {
+            pendingPairs[pendingCount++] = pairId;
+        }
+    }
+
+    private boolean remembers(int cell) {
+        long stamp = seenAt[cell];
+        return stamp != NEVER && clock - stamp < capacity;
+    }
+
+    /**
+     * Zieht bevorzugt ein Feld, das gerade nicht im Gedächtnis ist.
+     */
+    private int randomUnknown(RandomGenerator random, int exclude) {
+        for (int i = 0; i < RANDOM_TRIES; i++) {
+            int cell = randomOpen(random, exclude);
+            if (!remembers(cell)) {
+                return cell;
+            }
+        }
+        for (int i = 0; i < openCount; i++) {
+            int cell = open[i];
+            if (cell != exclude && !remembers(cell)) {
+                return cell;
+            }
+        }
+        return randomOpen(random, exclude);
+    }
+
+    @Override
+    public String toString() {
+        return capacity == Long.MAX_VALUE ? "perfect" : "memory-" + capacity;
+    }
+}
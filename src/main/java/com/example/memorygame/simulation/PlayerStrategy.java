@@ -0,0 +1,46 @@
+package com.example.memorygame.simulation;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Spielstrategie für den headless {@link GameSimulator}.
+ * <p>
+ * Felder werden über ihren flachen Index ({@code row * gridSize + col}) angesprochen.
+ */
+public interface PlayerStrategy {
+
+    /**
+     * Bereitet die Strategie auf ein neues Spiel vor.
+     * @param cellCount Anzahl der Felder
+     */
+    void newGame(int cellCount);
+
+    /**
+     * Wählt das erste Feld eines Zuges.
+     * @param random Zufallsquelle
+     * @return Feldindex
+     */
+    int chooseFirst(RandomGenerator random);
+
+    /**
+     * Wählt das zweite Feld eines Zuges.
+     * @param first Bereits aufgedecktes erstes Feld
+     * @param random Zufallsquelle
+     * @return Feldindex
+     */
+    int chooseSecond(int first, RandomGenerator random);
+
+    /**
+     * Wird aufgerufen, sobald ein Feld aufgedeckt wurde.
+     * @param cell Feldindex
+     * @param pairId Paar-ID des Feldes
+     */
+    void onRevealed(int cell, int pairId);
+
+    /**
+     * Wird aufgerufen, wenn zwei Felder ein Paar gebildet haben.
+     * @param first Erstes Feld
+     * @param second Zweites Feld
+     */
+    void onMatched(int first, int second);
+}
@@ -0,0 +1,29 @@
+package com.example.memorygame.simulation;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Strategie ohne Gedächtnis: deckt immer zufällige offene Felder auf.
+ */
+public class RandomStrategy extends AbstractStrategy {
+
+    @Override
+    public int chooseFirst(RandomGenerator random) {
+        return randomOpen(random, -1);
+    }
+
+    @Override
+    public int chooseSecond(int first, RandomGenerator random) {
+        return randomOpen(random, first);
+    }
+
+    @Override
+    public void onRevealed(int cell, int pairId) {
+        // Kein Gedächtnis
+    }
+
+    @Override
+    public String toString() {
+        return "random";
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.memorygame.simulation;
+
+import java.util.Arrays;
+
+/**
+ * Ergebnis einer Simulation: Verteilung der Versuche pro Spiel.
+ */
+public class SimulationResult {
+
+    private long[] attemptsHistogram = new long[64];
+    private long games;
+    private long totalAttempts;
+    private int minAttempts = Integer.MAX_VALUE;
+    private int maxAttempts;
+    private long elapsedNanos;
+
+    /**
+     * Erfasst ein beendetes Spiel.
+     * @param attempts Anzahl der Versuche
+     */
+    public void record(int attempts) {
+        if (attempts >= attemptsHistogram.length) {
+            attemptsHistogram = Arrays.copyOf(attemptsHistogram, Math.max(attempts + 1, attemptsHistogram.length * 2));
+        }
+        attemptsHistogram[attempts]++;
+        games++;
+        totalAttempts += attempts;
+        minAttempts = Math.min(minAttempts, attempts);
+        maxAttempts = Math.max(maxAttempts, attempts);
+    }
+
+    /**
+     * Führt ein Teilergebnis mit diesem zusammen.
+     * @param other Teilergebnis
+     * @return dieses Ergebnis
+     */
+    public SimulationResult merge(SimulationResult other) {
+        if (other.attemptsHistogram.length > attemptsHistogram.length) {
+            attemptsHistogram = Arrays.copyOf(attemptsHistogram, other.attemptsHistogram.length);
+        }
+        for (int i = 0; i < other.attemptsHistogram.length; i++) {
+            attemptsHistogram[i] += other.attemptsHistogram[i];
+        }
+        games += other.games;
+        totalAttempts += other.totalAttempts;
+        minAttempts = Math.min(minAttempts, other.minAttempts);
+        maxAttempts = Math.max(maxAttempts, other.maxAttempts);
+        return this;
+    }
+
+    /**
+     * Gibt das Perzentil der Versuche zurück.
+     * @param percentile Perzentil zwischen 0 und 100
+     * @return Versuche
+     */
+    public int percentile(double percentile) {
+        long target = (long) Math.ceil(games * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < attemptsHistogram.length; i++) {
+            seen += attemptsHistogram[i];
+            if (seen >= Math.max(1, target)) {
+                return i;
+            }
+        }
+        return maxAttempts;
+    }
+
+    /**
+     * Gibt die durchschnittliche Anzahl der Versuche zurück.
+     * @return Durchschnitt
+     */
+    public double getMeanAttempts() {
+        return games == 0 ? 0 : (double) totalAttempts / games;
+    }
+
+    /**
+     * Gibt den Durchsatz in Spielen pro Sekunde zurück.
+     * @return Spiele pro Sekunde
+     */
+    public double getGamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : games * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    void setElapsedNanos(long elapsedNanos) { this.elapsedNanos = elapsedNanos; }
+
+    public long getGames() { return games; }
+    public int getMinAttempts() { return games == 0 ? 0 : minAttempts; }
+    public int getMaxAttempts() { return maxAttempts; }
+    public long getElapsedNanos() { return elapsedNanos; }
+    public long[] getAttemptsHistogram() { return Arrays.copyOf(attemptsHistogram, maxAttempts + 1); }
+}
@@ -0,0 +1,94 @@
+package com.example.memorygame;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests für {@link BinaryScoreStore}: verlustfreier Import und Export sowie Dateien der Version 1.
+ */
+class BinaryScoreStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private static String export(BinaryScoreStore store) throws Exception {
+        StringWriter writer = new StringWriter();
+        store.exportCsv(writer);
+        return writer.toString();
+    }
+
+    @Test
+    void importExportImportKeepsEveryColumnIncludingTheId() throws Exception {
+        Path csv = directory.resolve("highscores.txt");
+        Files.writeString(csv, String.join("\n",
+                "#snapshot 0 0",
+                "anna,Mittel,12,7,12345,42",
+                "bob,Mittel,12,7,12345,-7",
+                "carl,Schwer,30,20",
+                "dora,Schwer,31,21,31500",
+                "broken,Schwer,x,1",
+                ""), StandardCharsets.UTF_8);
+        List<BinaryScoreStore.Row> imported = BinaryScoreStore.readCsv(csv);
+        assertEquals(4, imported.size());
+
+        Path bin = directory.resolve("highscores.bin");
+        BinaryScoreStore.write(bin, imported);
+        String exported;
+        try (BinaryScoreStore store = BinaryScoreStore.open(bin)) {
+            assertEquals(42, store.get("Mittel", 0).getId());
+            assertEquals(-7, store.get("Mittel", 1).getId());
+            exported = export(store);
+        }
+
+        Path again = directory.resolve("again.txt");
+        Files.writeString(again, exported, StandardCharsets.UTF_8);
+        BinaryScoreStore.write(bin, BinaryScoreStore.readCsv(again));
+        try (BinaryScoreStore store = BinaryScoreStore.open(bin)) {
+            assertEquals(exported, export(store));
+        }
+
+        // Der Manager sieht dieselben IDs wie im Original und nimmt nichts doppelt auf
+        HighscoreManager manager = new HighscoreManager(csv);
+        assertEquals(2, manager.getEntryCount("Schwer"));
+        HighscoreManager fromExport = new HighscoreManager(again);
+        assertEquals(manager.getPlayerBestInTopK("Schwer", "carl").getId(),
+                fromExport.getPlayerBestInTopK("Schwer", "carl").getId());
+        manager.close();
+        fromExport.close();
+    }
+
+    @Test
+    void readsVersionOneFilesWithoutIds() throws Exception {
+        byte[] name = "anna".getBytes(StandardCharsets.UTF_8);
+        byte[] difficulty = "Mittel".getBytes(StandardCharsets.UTF_8);
+        int recordsStart = 28 + 16;
+        int stringTable = recordsStart + 24;
+        ByteBuffer file = ByteBuffer.allocate(stringTable + 2 + difficulty.length + 2 + name.length);
+        file.putInt(0x4D474853).putInt(1).putInt(1).putLong(1).putLong(stringTable);
+        file.putInt(0).putLong(0).putInt(1);
+        file.putLong(12345).putInt(7).putInt(2 + difficulty.length).putLong(0);
+        file.putShort((short) difficulty.length).put(difficulty);
+        file.putShort((short) name.length).put(name);
+        Path bin = directory.resolve("old.bin");
+        Files.write(bin, file.array());
+
+        try (BinaryScoreStore store = BinaryScoreStore.open(bin)) {
+            BinaryScoreStore.Row row = store.get("Mittel", 0);
+            assertEquals("anna", row.getPlayerName());
+            assertEquals(12345, row.getTimeInMillis());
+            assertEquals(1, store.rankOf("Mittel", 12345, 7));
+            // Dieselbe ID, die der Manager der früher exportierten Zeile gegeben hätte
+            assertEquals(HighscoreManager.hash("anna,Mittel,12,7,12345"), row.getId());
+            assertEquals("anna,Mittel,12,7,12345," + row.getId() + "\n", export(store));
+        }
+    }
+}
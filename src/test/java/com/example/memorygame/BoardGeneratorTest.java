@@ -0,0 +1,48 @@
+package com.example.memorygame;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests für {@link BoardGenerator}: geteilte Codes und Tagesaufgabe.
+ */
+class BoardGeneratorTest {
+
+    @Test
+    void shareCodeRoundTripsNegativeSeeds() {
+        long seed = -1234567890123456789L;
+        String code = BoardGenerator.toShareCode("Schwer", seed);
+
+        assertEquals("Schwer", BoardGenerator.difficultyFromShareCode(code));
+        assertEquals(seed, BoardGenerator.seedFromShareCode(code));
+    }
+
+    @Test
+    void sameCodeGivesTheSameBoard() {
+        GameSettings settings = GameSettings.fromDifficulty("Mittel");
+        long seed = BoardGenerator.seedFromShareCode(BoardGenerator.toShareCode("Mittel", 42));
+        GameModel first = new GameModel();
+        GameModel second = new GameModel();
+        first.initialize(settings, seed);
+        second.initialize(settings, seed);
+
+        assertArrayEquals(first.getSymbols(), second.getSymbols());
+    }
+
+    @Test
+    void rejectsMalformedCodes() {
+        assertThrows(IllegalArgumentException.class, () -> BoardGenerator.seedFromShareCode("Schwer"));
+        assertThrows(IllegalArgumentException.class, () -> BoardGenerator.seedFromShareCode("Schwer-"));
+        assertThrows(IllegalArgumentException.class, () -> BoardGenerator.seedFromShareCode("Schwer-not!base36"));
+    }
+
+    @Test
+    void dailySeedChangesOnlyWithTheDate() {
+        LocalDate day = LocalDate.of(2026, 10, 18);
+        assertEquals(BoardGenerator.dailySeed(day), BoardGenerator.dailySeed(LocalDate.of(2026, 10, 18)));
+        assertNotEquals(BoardGenerator.dailySeed(day), BoardGenerator.dailySeed(day.plusDays(1)));
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.memorygame;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests für {@link BoundedTopK}: Aufnahme, Verdrängung und Platz-Abfragen.
+ */
+class BoundedTopKTest {
+
+    private static List<Integer> toList(Iterator<Integer> iterator) {
+        List<Integer> values = new ArrayList<>();
+        iterator.forEachRemaining(values::add);
+        return values;
+    }
+
+    @Test
+    void keepsTheBestAndReportsEveryEviction() {
+        List<Integer> evicted = new ArrayList<>();
+        BoundedTopK<Integer> top = new BoundedTopK<>(3, Comparator.naturalOrder(), evicted::add);
+
+        assertTrue(top.offer(50));
+        assertTrue(top.offer(30));
+        assertTrue(top.offer(40));
+        assertTrue(evicted.isEmpty());
+
+        assertTrue(top.offer(10));
+        assertEquals(List.of(50), evicted);
+        assertTrue(top.offer(35));
+        assertEquals(List.of(50, 40), evicted);
+
+        assertEquals(List.of(10, 30, 35), toList(top.iterator()));
+        assertEquals(3, top.size());
+    }
+
+    @Test
+    void rejectsElementsNotBetterThanTheWorstWhenFull() {
+        List<Integer> evicted = new ArrayList<>();
+        BoundedTopK<Integer> top = new BoundedTopK<>(2, Comparator.naturalOrder(), evicted::add);
+        top.offer(1);
+        top.offer(5);
+
+        assertFalse(top.qualifies(5));
+        assertFalse(top.offer(5));
+        assertFalse(top.offer(9));
+        assertTrue(top.qualifies(4));
+        // Schon enthalten: wird nicht aufgenommen und verdrängt nichts
+        assertFalse(top.offer(1));
+        assertTrue(evicted.isEmpty());
+        assertEquals(List.of(1, 5), toList(top.iterator()));
+    }
+
+    @Test
+    void rankGetAndIteratorFromRank() {
+        BoundedTopK<Integer> top = new BoundedTopK<>(5, Comparator.naturalOrder());
+        for (int value : new int[]{70, 20, 90, 10, 40, 60, 30}) {
+            top.offer(value);
+        }
+
+        assertEquals(List.of(10, 20, 30, 40, 60), toList(top.iterator()));
+        assertEquals(0, top.rankOf(5));
+        assertEquals(2, top.rankOf(30));
+        assertEquals(3, top.rankOf(35));
+        assertEquals(5, top.rankOf(100));
+        assertEquals(40, top.get(3));
+        assertEquals(List.of(30, 40, 60), toList(top.iterator(2)));
+        assertFalse(top.iterator(5).hasNext());
+    }
+
+    @Test
+    void matchesSortedPrefixUnderRandomOffers() {
+        Random random = new Random(3);
+        List<Integer> evicted = new ArrayList<>();
+        BoundedTopK<Integer> top = new BoundedTopK<>(10, Comparator.naturalOrder(), evicted::add);
+        List<Integer> accepted = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            int value = random.nextInt(100_000);
+            if (top.offer(value)) {
+                accepted.add(value);
+            }
+        }
+
+        List<Integer> expected = accepted.stream().sorted().limit(10).toList();
+        assertEquals(expected, toList(top.iterator()));
+        assertEquals(accepted.size() - 10, evicted.size());
+        assertTrue(evicted.stream().allMatch(value -> value > expected.get(9)));
+    }
+
+    @Test
+    void clearAcceptsWorseElementsAgain() {
+        BoundedTopK<Integer> top = new BoundedTopK<>(1, Comparator.naturalOrder());
+        top.offer(1);
+        assertFalse(top.offer(2));
+
+        top.clear();
+        assertEquals(0, top.size());
+        assertTrue(top.offer(2));
+        assertEquals(2, top.get(0));
+    }
+
+    @Test
+    void rejectsNonPositiveCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new BoundedTopK<Integer>(0, Comparator.naturalOrder()));
+    }
+}
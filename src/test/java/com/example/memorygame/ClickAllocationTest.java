@@ -0,0 +1,195 @@
+package com.example.memorygame;
+
+import javafx.application.Platform;
+import javafx.css.PseudoClass;
+import javafx.scene.layout.Region;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prüft, dass ein Zug im eingeschwungenen Zustand nichts allokiert: einmal
+ * nur im {@link GameModel}, einmal über {@link GameController} und
+ * {@link GameBoard} wie bei einem echten Klick. Der zweite Test braucht das
+ * JavaFX-Toolkit; ohne Bildschirm startet es über Monocle (siehe pom.xml).
+ */
+class ClickAllocationTest {
+
+    private static final int WARMUP_TURNS = 200_000;
+    private static final int MEASURED_TURNS = 100_000;
+
+    @TempDir
+    Path soundDirectory;
+
+    @Test
+    void modelClickPathDoesNotAllocate() {
+        GameModel model = new GameModel();
+        model.initialize(new GameSettings(8, 60, 1.0), 1L);
+
+        long checksum = playModelTurns(model, WARMUP_TURNS);
+        long start = allocatedBytes();
+        checksum += playModelTurns(model, MEASURED_TURNS);
+        long allocated = allocatedBytes() - start - measurementOverhead();
+
+        assertTrue(checksum > 0);
+        assertEquals(0, allocated, "bytes allocated over " + MEASURED_TURNS + " turns");
+    }
+
+    @Test
+    void controllerClickPathDoesNotAllocate() throws Exception {
+        FxToolkit.start();
+        long[] allocated = new long[1];
+        Throwable[] error = new Throwable[1];
+        CountDownLatch done = new CountDownLatch(1);
+        Platform.runLater(() -> {
+            try {
+                allocated[0] = measureControllerTurns();
+            } catch (Throwable t) {
+                error[0] = t;
+            } finally {
+                done.countDown();
+            }
+        });
+        assertTrue(done.await(2, TimeUnit.MINUTES), "FX thread did not finish");
+        if (error[0] != null) {
+            throw new AssertionError(error[0]);
+        }
+        assertEquals(0, allocated[0], "bytes allocated over " + MEASURED_TURNS + " turns");
+    }
+
+    @Test
+    void anchorPseudoClassNeedsNoParticularIndex() {
+        // Anker absichtlich zuerst angelegt: kleinerer Index, anderes 64er-Wort als die umgeschaltete Klasse
+        PseudoClass anchor = PseudoClass.getPseudoClass("test-anchor");
+        for (int i = 0; i < 64; i++) {
+            PseudoClass.getPseudoClass("test-filler-" + i);
+        }
+        PseudoClass toggled = PseudoClass.getPseudoClass("test-toggled");
+        Region withAnchor = new Region();
+        withAnchor.pseudoClassStateChanged(anchor, true);
+        Region withoutAnchor = new Region();
+
+        toggle(withAnchor, toggled, WARMUP_TURNS);
+        toggle(withoutAnchor, toggled, WARMUP_TURNS);
+        long start = allocatedBytes();
+        toggle(withAnchor, toggled, MEASURED_TURNS);
+        long anchored = allocatedBytes() - start - measurementOverhead();
+        start = allocatedBytes();
+        toggle(withoutAnchor, toggled, MEASURED_TURNS);
+        long unanchored = allocatedBytes() - start - measurementOverhead();
+
+        assertEquals(0, anchored, "bytes allocated over " + MEASURED_TURNS + " reveal/hide cycles");
+        // Gegenprobe: ohne Anker wird das Bit-Array bei jedem Aufdecken neu angelegt
+        assertTrue(unanchored > 0);
+    }
+
+    private static void toggle(Region node, PseudoClass pseudoClass, int cycles) {
+        for (int i = 0; i < cycles; i++) {
+            node.pseudoClassStateChanged(pseudoClass, true);
+            node.pseudoClassStateChanged(pseudoClass, false);
+        }
+    }
+
+    /**
+     * Spielt Fehlversuche über den Controller: zwei Klicks, Verdeck-Pause auf
+     * virtueller Zeit, Felder wieder verdecken. Läuft auf dem FX-Thread.
+     */
+    private long measureControllerTurns() {
+        SoundEffects effects = new SoundEffects(soundDirectory);
+        effects.setVolume(0);
+        TimingWheel wheel = TimingWheel.virtual();
+        GameController controller = new GameController(null, null, null, null, effects, wheel);
+        controller.createGamePane();
+        long turnNanos = (long) (GameSettings.fromDifficulty("Schwer").getPauseTime() * 1_000_000_000L) + 1_000_000L;
+
+        controller.initializeGame("test", "Schwer");
+        // Uhr anhalten: der Sekundentakt formatiert die Zeitanzeige und gehört nicht zum Klickpfad
+        controller.cleanup();
+        playControllerTurns(controller, wheel, turnNanos, mismatchPartners(controller.getGameModel()), WARMUP_TURNS);
+
+        // Neues Spiel, damit die Versuche wieder bei 0 beginnen und ihre Texte schon zwischengespeichert sind
+        controller.startNewGame();
+        controller.cleanup();
+        int[] partners = mismatchPartners(controller.getGameModel());
+
+        long start = allocatedBytes();
+        playControllerTurns(controller, wheel, turnNanos, partners, MEASURED_TURNS);
+        long allocated = allocatedBytes() - start - measurementOverhead();
+        assertEquals(MEASURED_TURNS, controller.getGameModel().getAttempts());
+        return allocated;
+    }
+
+    private static void playControllerTurns(GameController controller, TimingWheel wheel, long turnNanos,
+                                            int[] partners, int turns) {
+        int gridSize = controller.getGameModel().getSettings().getGridSize();
+        for (int turn = 0; turn < turns; turn++) {
+            int first = turn % partners.length;
+            int second = partners[first];
+            controller.onButtonClicked(first / gridSize, first % gridSize);
+            controller.onButtonClicked(second / gridSize, second % gridSize);
+            wheel.advanceBy(turnNanos);
+        }
+    }
+
+    /**
+     * Ordnet jedem Feld ein Feld mit anderem Paar zu, damit das Spiel nie endet.
+     */
+    private static int[] mismatchPartners(GameModel model) {
+        int gridSize = model.getSettings().getGridSize();
+        int cells = gridSize * gridSize;
+        int[] partners = new int[cells];
+        for (int cell = 0; cell < cells; cell++) {
+            int other = (cell + 1) % cells;
+            while (model.getPairId(other / gridSize, other % gridSize) == model.getPairId(cell / gridSize, cell % gridSize)) {
+                other = (other + 1) % cells;
+            }
+            partners[cell] = other;
+        }
+        return partners;
+    }
+
+    /**
+     * Spielt Züge wie {@code GameController}: zwei Klicks, Vergleich, zurücksetzen.
+     */
+    private static long playModelTurns(GameModel model, int turns) {
+        int gridSize = model.getSettings().getGridSize();
+        int cells = gridSize * gridSize;
+        long checksum = 0;
+        for (int turn = 0; turn < turns; turn++) {
+            int first = turn % cells;
+            int second = (first + 1 + turn % (cells - 1)) % cells;
+            clickModel(model, first / gridSize, first % gridSize);
+            clickModel(model, second / gridSize, second % gridSize);
+            model.incrementAttempts();
+            if (model.isMatch(model.getClickedRow(0), model.getClickedCol(0),
+                    model.getClickedRow(1), model.getClickedCol(1))) {
+                checksum++;
+            }
+            checksum += model.getSymbol(model.getClickedRow(1), model.getClickedCol(1)).length();
+            model.clearClickedPositions();
+        }
+        return checksum;
+    }
+
+    private static void clickModel(GameModel model, int row, int col) {
+        if (model.canClick(row, col)) {
+            model.addClickedPosition(row, col);
+        }
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+
+    // Grundrauschen der Messung selbst
+    private static long measurementOverhead() {
+        long start = allocatedBytes();
+        return allocatedBytes() - start;
+    }
+}
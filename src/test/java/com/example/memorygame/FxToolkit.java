@@ -0,0 +1,36 @@
+package com.example.memorygame;
+
+import javafx.application.Platform;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Startet das JavaFX-Toolkit für Tests; ohne Bildschirm über Monocle (siehe pom.xml).
+ * Da Monocle immer auf dem Test-Klassenpfad liegt, schlägt ein Test fehl statt
+ * übersprungen zu werden, wenn das Toolkit nicht startet.
+ */
+final class FxToolkit {
+
+    private FxToolkit() {
+    }
+
+    /**
+     * Startet das Toolkit, falls es noch nicht läuft.
+     * @throws AssertionError wenn das Toolkit nicht startet
+     */
+    static void start() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        try {
+            Platform.startup(started::countDown);
+        } catch (IllegalStateException e) {
+            // Läuft schon
+            return;
+        } catch (RuntimeException | LinkageError e) {
+            throw new AssertionError("JavaFX toolkit did not start; is Monocle on the test class path?", e);
+        }
+        if (!started.await(30, TimeUnit.SECONDS)) {
+            throw new AssertionError("JavaFX toolkit did not start within 30 seconds");
+        }
+    }
+}
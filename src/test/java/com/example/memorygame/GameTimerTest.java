@@ -0,0 +1,83 @@
+package com.example.memorygame;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests für {@link GameTimer} auf einem {@link TimingWheel} mit virtueller Zeit.
+ */
+class GameTimerTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private final TimingWheel wheel = TimingWheel.virtual();
+    private final TimingWheel.Group clock = wheel.createGroup();
+    private int ticks;
+    private final GameTimer timer = new GameTimer(clock, () -> ticks++);
+
+    @Test
+    void countsFromVirtualTimeZero() {
+        assertEquals(0, wheel.nanoTime());
+        timer.start();
+        wheel.advanceBy(2_500_000_000L);
+
+        assertEquals(2500, timer.getElapsedTimeInMillis());
+        assertEquals("00:02", timer.getFormattedTime());
+        assertEquals(2, ticks);
+    }
+
+    @Test
+    void stopFreezesTheElapsedTime() {
+        timer.start();
+        wheel.advanceBy(3 * SECOND);
+        timer.stop();
+        wheel.advanceBy(10 * SECOND);
+
+        assertFalse(timer.isActive());
+        assertEquals(3, timer.getElapsedTimeInSeconds());
+        assertEquals(3, ticks);
+    }
+
+    @Test
+    void pausedGroupStopsTimerAndTicks() {
+        timer.start();
+        wheel.advanceBy(SECOND);
+        clock.pause();
+        wheel.advanceBy(60 * SECOND);
+        assertEquals(1, timer.getElapsedTimeInSeconds());
+        assertEquals(1, ticks);
+
+        clock.resume();
+        wheel.advanceBy(SECOND);
+        assertEquals(2, timer.getElapsedTimeInSeconds());
+        assertEquals(2, ticks);
+    }
+
+    @Test
+    void restartBeginsAtZero() {
+        assertEquals(0, timer.getElapsedNanos());
+        timer.start();
+        wheel.advanceBy(65 * SECOND);
+        assertEquals("01:05", timer.getFormattedTime());
+
+        timer.start();
+        assertEquals(0, timer.getElapsedNanos());
+        wheel.advanceBy(SECOND);
+        assertEquals("00:01", timer.getFormattedTime());
+    }
+
+    @Test
+    void formatsEachSecondOnlyOnce() {
+        timer.start();
+        wheel.advanceBy(5 * SECOND);
+        String first = timer.getFormattedTime();
+
+        timer.start();
+        wheel.advanceBy(5 * SECOND);
+        assertSame(first, timer.getFormattedTime());
+        assertSame(first, timer.formatSeconds(5));
+        // Jenseits des Zwischenspeichers weiter korrekt, nur ohne Wiederverwendung
+        assertEquals("60:05", timer.formatSeconds(GameTimer.CACHED_SECONDS + 5));
+    }
+}
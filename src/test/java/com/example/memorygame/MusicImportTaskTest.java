@@ -0,0 +1,84 @@
+package com.example.memorygame;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests für {@link MusicImportTask} und den Indexeintrag importierter Dateien.
+ */
+class MusicImportTaskTest {
+
+    @TempDir
+    Path directory;
+
+    private Path write(String relative, String content) throws Exception {
+        Path file = directory.resolve(relative);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        return file;
+    }
+
+    @Test
+    void sortsFilesIntoAddedDuplicateAndExisting() throws Exception {
+        // Task meldet Fortschritt über den FX-Thread
+        FxToolkit.start();
+        Path music = directory.resolve("music");
+        write("music/taken.mp3", "already there");
+        Path clash = write("a/taken.mp3", "other content, same name");
+        Path fresh = write("a/fresh.mp3", "new song");
+        Path copy = write("b/copy.mp3", "new song");
+        MusicLibraryIndex index = new MusicLibraryIndex(directory.resolve("index.ser"));
+
+        MusicImportTask task = new MusicImportTask(List.of(clash, fresh, copy), music, index);
+        task.run();
+        MusicImportTask.Result result = task.get();
+
+        assertEquals(List.of(clash), result.getExisting());
+        assertEquals(1, result.getAdded().size());
+        assertEquals(1, result.getDuplicates().size());
+        assertTrue(result.getFailed().isEmpty());
+        assertEquals("already there", Files.readString(music.resolve("taken.mp3")));
+        assertFalse(Files.exists(music.resolve("fresh.mp3.part")));
+    }
+
+    @Test
+    void importedFileIsIndexedWithItsHash() throws Exception {
+        FxToolkit.start();
+        Path music = directory.resolve("music");
+        Files.createDirectories(music);
+        Path source = write("a/song.mp3", "some audio");
+        MusicLibraryIndex index = new MusicLibraryIndex(directory.resolve("index.ser"));
+
+        MusicImportTask task = new MusicImportTask(List.of(source), music, index);
+        task.run();
+        task.get();
+
+        Path target = music.resolve("song.mp3");
+        MusicLibraryIndex.Entry entry = index.get(target.toString());
+        assertNotNull(entry);
+        assertEquals(MusicLibraryIndex.hash(source), entry.getHash());
+        assertSame(entry, index.findByHash(entry.getHash()));
+        // Größe und Änderungszeit passen: der Scanner bekommt denselben Eintrag, ohne zu hashen
+        assertSame(entry, index.refresh(target));
+    }
+
+    @Test
+    void recordKeepsACurrentEntry() throws Exception {
+        Path file = write("music/song.mp3", "some audio");
+        MusicLibraryIndex index = new MusicLibraryIndex(directory.resolve("index.ser"));
+        MusicLibraryIndex.Entry scanned = index.refresh(file);
+        index.setMetadata(file.toString(), 1234, "Title", "Artist");
+
+        MusicLibraryIndex.Entry recorded = index.record(file, scanned.getHash());
+
+        assertEquals(1234, recorded.getDurationMillis());
+        assertEquals("Title", recorded.getTitle());
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.memorygame;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests für {@link MusicLibraryIndex}: Hash-Suche beim Entfernen und Speichern langer Metadaten.
+ */
+class MusicLibraryIndexTest {
+
+    @TempDir
+    Path directory;
+
+    private Path write(String name, String content) throws Exception {
+        Path file = directory.resolve(name);
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        return file;
+    }
+
+    @Test
+    void nextFileWithSameContentTakesOverAfterRemoval() throws Exception {
+        MusicLibraryIndex index = new MusicLibraryIndex(directory.resolve("index.ser"));
+        MusicLibraryIndex.Entry first = index.refresh(write("a.mp3", "same audio"));
+        MusicLibraryIndex.Entry second = index.refresh(write("b.mp3", "same audio"));
+        String hash = first.getHash();
+        assertEquals(hash, second.getHash());
+        assertSame(first, index.findByHash(hash));
+
+        index.removeEntry(first.getPath());
+        assertSame(second, index.findByHash(hash));
+
+        index.removeEntry(second.getPath());
+        assertNull(index.findByHash(hash));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void oversizedMetadataIsTruncatedAndStillSaves() throws Exception {
+        Path indexFile = directory.resolve("index.ser");
+        MusicLibraryIndex index = new MusicLibraryIndex(indexFile);
+        Path song = write("song.mp3", "some audio");
+        index.refresh(song);
+        // 30.000 Zeichen mit je 3 Byte in modifiziertem UTF-8: zu lang für writeUTF
+        String title = "€".repeat(30_000);
+        // Surrogatpaar genau an der Schnittstelle darf nicht getrennt werden
+        String artist = "x".repeat(MusicLibraryIndex.MAX_TEXT_LENGTH - 1) + "🎵";
+        index.setMetadata(song.toString(), 1000, title, artist);
+        index.save();
+
+        MusicLibraryIndex reloaded = new MusicLibraryIndex(indexFile);
+        reloaded.load();
+        MusicLibraryIndex.Entry entry = reloaded.get(song.toString());
+        assertNotNull(entry);
+        assertEquals(title.substring(0, MusicLibraryIndex.MAX_TEXT_LENGTH), entry.getTitle());
+        assertEquals(MusicLibraryIndex.MAX_TEXT_LENGTH - 1, entry.getArtist().length());
+        assertEquals(1000, entry.getDurationMillis());
+    }
+}
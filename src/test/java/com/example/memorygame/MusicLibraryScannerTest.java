@@ -0,0 +1,82 @@
+package com.example.memorygame;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests für {@link MusicLibraryScanner}: geänderte Dateien werden erst gehasht, wenn sie sich nicht mehr ändern.
+ */
+class MusicLibraryScannerTest {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Index, der die Aktualisierungen zählt und das Ende des ersten Durchlaufs meldet.
+     */
+    private static class CountingIndex extends MusicLibraryIndex {
+        final AtomicInteger refreshes = new AtomicInteger();
+        final CountDownLatch firstSave = new CountDownLatch(1);
+
+        CountingIndex(Path indexFile) {
+            super(indexFile);
+        }
+
+        @Override
+        public Entry refresh(Path file) {
+            refreshes.incrementAndGet();
+            return super.refresh(file);
+        }
+
+        @Override
+        public synchronized void save() {
+            super.save();
+            firstSave.countDown();
+        }
+    }
+
+    @Test
+    void fileBeingWrittenIsHashedOnceAfterItSettles() throws Exception {
+        Path music = Files.createDirectories(directory.resolve("music"));
+        CountingIndex index = new CountingIndex(directory.resolve("index.ser"));
+        MusicLibraryScanner scanner = new MusicLibraryScanner(music, index, Runnable::run,
+                files -> { }, files -> { }, files -> { });
+        scanner.start();
+        try {
+            assertTrue(index.firstSave.await(10, TimeUnit.SECONDS));
+
+            // Wie ein Kopiervorgang: mehrere Schreibvorgänge kurz nacheinander
+            Path song = music.resolve("song.mp3");
+            byte[] chunk = new byte[4096];
+            for (int i = 0; i < 8; i++) {
+                Files.write(song, chunk, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                Thread.sleep(MusicLibraryScanner.SETTLE_MILLIS / 10);
+            }
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (index.get(song.toString()) == null && System.nanoTime() < deadline) {
+                Thread.sleep(20);
+            }
+            MusicLibraryIndex.Entry entry = index.get(song.toString());
+            assertNotNull(entry);
+            assertEquals(8 * chunk.length, entry.getSize());
+            assertEquals(MusicLibraryIndex.hash(song), entry.getHash());
+
+            Thread.sleep(MusicLibraryScanner.SETTLE_MILLIS * 3);
+            assertEquals(1, index.refreshes.get());
+            assertEquals(List.of(entry), List.of(index.get(song.toString())));
+        } finally {
+            scanner.stop();
+        }
+    }
+}
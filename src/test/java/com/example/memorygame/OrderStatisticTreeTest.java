@@ -0,0 +1,110 @@
+package com.example.memorygame;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests für {@link OrderStatisticTree}: Rang, Auswahl und Iteration, verglichen mit einem {@link TreeSet}.
+ */
+class OrderStatisticTreeTest {
+
+    private static List<Integer> toList(Iterator<Integer> iterator) {
+        List<Integer> values = new ArrayList<>();
+        iterator.forEachRemaining(values::add);
+        return values;
+    }
+
+    @Test
+    void matchesTreeSetUnderRandomAddsAndRemoves() {
+        OrderStatisticTree<Integer> tree = new OrderStatisticTree<>(Comparator.naturalOrder());
+        TreeSet<Integer> expected = new TreeSet<>();
+        Random random = new Random(42);
+        for (int step = 0; step < 5_000; step++) {
+            int value = random.nextInt(500);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(value), tree.remove(value));
+            } else {
+                assertEquals(expected.add(value), tree.add(value));
+            }
+            assertEquals(expected.size(), tree.size());
+        }
+
+        List<Integer> sorted = new ArrayList<>(expected);
+        assertEquals(sorted, toList(tree.iterator()));
+        for (int i = 0; i < sorted.size(); i++) {
+            assertEquals(sorted.get(i), tree.get(i));
+            assertEquals(i, tree.rankOf(sorted.get(i)));
+        }
+        assertEquals(sorted.get(0), tree.first());
+        assertEquals(sorted.get(sorted.size() - 1), tree.last());
+    }
+
+    @Test
+    void rankOfCountsSmallerElementsForAbsentProbes() {
+        OrderStatisticTree<Integer> tree = new OrderStatisticTree<>(Comparator.naturalOrder());
+        for (int value = 10; value <= 50; value += 10) {
+            tree.add(value);
+        }
+
+        assertEquals(0, tree.rankOf(5));
+        assertEquals(0, tree.rankOf(10));
+        assertEquals(1, tree.rankOf(11));
+        assertEquals(2, tree.rankOf(25));
+        assertEquals(4, tree.rankOf(50));
+        assertEquals(5, tree.rankOf(99));
+    }
+
+    @Test
+    void getRejectsIndicesOutsideTheTree() {
+        OrderStatisticTree<Integer> tree = new OrderStatisticTree<>(Comparator.naturalOrder());
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.get(0));
+        tree.add(1);
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.get(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.get(1));
+    }
+
+    @Test
+    void iteratorStartsAtEveryIndex() {
+        OrderStatisticTree<Integer> tree = new OrderStatisticTree<>(Comparator.naturalOrder());
+        List<Integer> values = new ArrayList<>();
+        for (int value = 0; value < 100; value++) {
+            values.add(value * 3);
+        }
+        Collections.shuffle(values, new Random(7));
+        values.forEach(tree::add);
+        Collections.sort(values);
+
+        for (int from = 0; from <= values.size(); from++) {
+            assertEquals(values.subList(from, values.size()), toList(tree.iterator(from)), "from " + from);
+        }
+        assertFalse(tree.iterator(values.size() + 5).hasNext());
+
+        Iterator<Integer> exhausted = tree.iterator(values.size());
+        assertThrows(NoSuchElementException.class, exhausted::next);
+    }
+
+    @Test
+    void pollLastEmptiesTheTreeFromTheTop() {
+        OrderStatisticTree<String> tree = new OrderStatisticTree<>(Comparator.naturalOrder());
+        assertNull(tree.pollLast());
+        assertNull(tree.first());
+        tree.add("b");
+        tree.add("c");
+        tree.add("a");
+
+        assertEquals("c", tree.pollLast());
+        assertEquals("b", tree.pollLast());
+        assertEquals("a", tree.pollLast());
+        assertTrue(tree.isEmpty());
+    }
+}
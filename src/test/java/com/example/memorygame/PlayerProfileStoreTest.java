@@ -0,0 +1,64 @@
+package com.example.memorygame;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests für die laufenden Werte in {@link PlayerProfileStore}.
+ */
+class PlayerProfileStoreTest {
+
+    private static final long OVERFLOW_MILLIS = 2 * 60 * 60 * 1000L;
+
+    @TempDir
+    Path directory;
+
+    private PlayerProfileStore load(String... lines) throws IOException {
+        Path file = directory.resolve("player_data.txt");
+        Files.write(file, List.of(lines));
+        PlayerProfileStore store = new PlayerProfileStore(file);
+        store.loadAsync();
+        store.awaitLoaded();
+        return store;
+    }
+
+    @Test
+    void medianIgnoresSubSecondPartAndOlderLinesWithoutTime() throws IOException {
+        PlayerProfileStore store = load(
+                "anna,Leicht,x",
+                "anna,Leicht,x,42900,10",
+                "anna,Leicht,x,30100,8",
+                "anna,Leicht,x,61000,12");
+
+        assertEquals(4, store.getGamesPlayed("anna"));
+        assertEquals(30100, store.getBestTime("anna", "Leicht"));
+        assertEquals(42000, store.getMedianTime("anna", "Leicht"));
+        assertEquals(-1, store.getMedianTime("anna", "Schwer"));
+    }
+
+    @Test
+    void hugeTimesShareTheOverflowBucket() throws IOException {
+        // Vorher wuchs das Histogramm hierfür auf Integer.MAX_VALUE Einträge
+        PlayerProfileStore store = load(
+                "bob,Mittel,x," + Long.MAX_VALUE + ",5",
+                "bob,Mittel,x,5000,5",
+                "bob,Mittel,x," + (OVERFLOW_MILLIS * 3) + ",5");
+
+        assertEquals(5000, store.getBestTime("bob", "Mittel"));
+        assertEquals(OVERFLOW_MILLIS, store.getMedianTime("bob", "Mittel"));
+    }
+
+    @Test
+    void timesJustBelowTheLimitKeepTheirSecond() throws IOException {
+        PlayerProfileStore store = load("carl,Schwer,x," + (OVERFLOW_MILLIS - 1) + ",5");
+
+        assertEquals(OVERFLOW_MILLIS - 1000, store.getMedianTime("carl", "Schwer"));
+    }
+}
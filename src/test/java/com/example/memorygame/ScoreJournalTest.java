@@ -0,0 +1,212 @@
+package com.example.memorygame;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests für {@link ScoreJournal}: Journal, Snapshot, Kompaktierung und abgebrochene Schreibvorgänge.
+ */
+class ScoreJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private Path snapshot() {
+        return directory.resolve("scores.txt");
+    }
+
+    // Kompaktierer, der erkennbar etwas verändert: "drop"-Zeilen fallen weg
+    private ScoreJournal open() {
+        return new ScoreJournal(snapshot(), lines -> lines.stream().filter(line -> !line.startsWith("drop")).toList());
+    }
+
+    private List<String> reload() throws IOException {
+        List<String> lines = new ArrayList<>();
+        ScoreJournal journal = open();
+        journal.load(lines::add);
+        journal.close();
+        return lines;
+    }
+
+    @Test
+    void roundTripsThroughJournalSnapshotAndCompaction() throws IOException {
+        ScoreJournal journal = open();
+        journal.load(line -> fail("unexpected line " + line));
+        journal.append("a");
+        journal.append("drop-1");
+        journal.append("b");
+        journal.flush();
+        assertEquals(List.of("a", "drop-1", "b"), reload());
+
+        assertTrue(journal.compact());
+        // Der Schreib-Thread arbeitet Aufträge der Reihe nach ab
+        journal.flush();
+        journal.append("c");
+        journal.close();
+
+        String snapshot = Files.readString(snapshot());
+        assertTrue(snapshot.contains("a\nb\n"));
+        assertFalse(snapshot.contains("drop"));
+        assertEquals(List.of("a", "b", "c"), reload());
+    }
+
+    @Test
+    void ignoresBytesBehindCommittedLength() throws IOException {
+        ScoreJournal journal = open();
+        journal.load(line -> { });
+        journal.append("a");
+        journal.append("b");
+        journal.close();
+
+        // Abgebrochener Schreibvorgang: Bytes im Journal, aber Kopf nicht fortgeschrieben
+        Path journalFile = journal.getJournalFile();
+        Files.writeString(journalFile, "ghost\npartial", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        assertEquals(List.of("a", "b"), reload());
+
+        journal = open();
+        journal.load(line -> { });
+        journal.append("c");
+        journal.close();
+        assertEquals(List.of("a", "b", "c"), reload());
+        assertFalse(Files.readString(journalFile).contains("ghost"));
+    }
+
+    @Test
+    void dropsTornLastLineWithoutLockFile() throws IOException {
+        ScoreJournal journal = open();
+        journal.load(line -> { });
+        journal.append("a");
+        journal.close();
+
+        Files.delete(journal.getLockFile());
+        Files.writeString(journal.getJournalFile(), "b\npart", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        assertEquals(List.of("a", "b"), reload());
+    }
+
+    @Test
+    void keepsLinesWhenJournalWasDeleted() throws IOException {
+        ScoreJournal journal = open();
+        journal.load(line -> { });
+        journal.append("a");
+        journal.flush();
+        journal.compact();
+        journal.flush();
+
+        Files.delete(journal.getJournalFile());
+        journal.append("b");
+        journal.flush();
+        journal.append("c");
+        journal.close();
+        assertEquals(List.of("a", "b", "c"), reload());
+    }
+
+    @Test
+    void refreshDeliversLinesOfOtherInstance() throws IOException {
+        ScoreJournal writer = open();
+        ScoreJournal reader = open();
+        writer.load(line -> { });
+        reader.load(line -> { });
+        List<String> seen = new ArrayList<>();
+        assertFalse(reader.refresh(seen::add));
+
+        writer.append("a");
+        writer.flush();
+        assertTrue(reader.refresh(seen::add));
+        assertEquals(List.of("a"), seen);
+        assertFalse(reader.refresh(seen::add));
+
+        // Nach fremder Kompaktierung kommt der ganze Stand erneut
+        writer.compact();
+        writer.append("b");
+        writer.flush();
+        seen.clear();
+        assertTrue(reader.refresh(seen::add));
+        assertEquals(List.of("a", "b"), seen);
+
+        writer.close();
+        reader.close();
+    }
+
+    @Test
+    void highscoresSkipGarbageLinesInLoadRefreshAndCompaction() throws IOException {
+        ScoreJournal raw = open();
+        raw.load(line -> { });
+        raw.append("anna,Mittel,10,5,10000,1");
+        raw.append("anna,Mittel,ten,5");
+        raw.append("bob,Mittel,12,x,12000,2");
+        raw.close();
+
+        HighscoreManager manager = new HighscoreManager(snapshot());
+        assertEquals(1, manager.getEntryCount("Mittel"));
+
+        // Fremde Instanz schreibt eine kaputte Zeile
+        raw = open();
+        raw.load(line -> { });
+        raw.append("carl,Mittel,9,4,9000,not-a-number");
+        raw.close();
+        assertTrue(manager.refresh());
+        assertEquals(1, manager.getEntryCount("Mittel"));
+
+        // Jeder Score ist besser als der vorige und wird angehängt, bis kompaktiert wird;
+        // der Compactor sieht dabei alle kaputten Zeilen
+        for (int i = 0; i < 40; i++) {
+            assertTrue(manager.saveScore("p" + i, "Mittel", 1000 - i, 5));
+        }
+        manager.close();
+
+        String snapshot = Files.readString(snapshot());
+        assertFalse(snapshot.contains("ten"));
+        assertFalse(snapshot.contains("not-a-number"));
+        HighscoreManager reloaded = new HighscoreManager(snapshot());
+        assertEquals(HighscoreManager.DEFAULT_TOP_K, reloaded.getEntryCount("Mittel"));
+        assertEquals("anna", reloaded.getPageInTopK("Mittel", 0, 1).get(0).getPlayerName());
+        assertEquals("p39", reloaded.getPageInTopK("Mittel", 0, 2).get(1).getPlayerName());
+        reloaded.close();
+    }
+
+    @Test
+    void refreshAsyncReadsOnTheWriterAndAppliesOnTheCallerExecutor() throws Exception {
+        HighscoreManager manager = new HighscoreManager(snapshot());
+        HighscoreManager other = new HighscoreManager(snapshot());
+        other.saveScore("anna", "Mittel", 10, 5);
+        other.flush();
+
+        // Eigener Einzel-Thread steht hier für den FX-Thread
+        ExecutorService ui = Executors.newSingleThreadExecutor();
+        try {
+            Thread uiThread = ui.submit(Thread::currentThread).get();
+            CountDownLatch done = new CountDownLatch(1);
+            Thread[] appliedOn = new Thread[1];
+            manager.refreshAsync(ui, () -> {
+                appliedOn[0] = Thread.currentThread();
+                done.countDown();
+            });
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            assertSame(uiThread, appliedOn[0]);
+            assertEquals("anna", ui.submit(() -> manager.getPlayerBestInTopK("Mittel", "anna").getPlayerName()).get());
+
+            // Ohne neue Zeilen läuft der Abschluss trotzdem
+            CountDownLatch again = new CountDownLatch(1);
+            manager.refreshAsync(ui, again::countDown);
+            assertTrue(again.await(10, TimeUnit.SECONDS));
+        } finally {
+            ui.shutdown();
+            other.close();
+            manager.close();
+        }
+    }
+}
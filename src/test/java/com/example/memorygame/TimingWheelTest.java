@@ -0,0 +1,197 @@
+package com.example.memorygame;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests für {@link TimingWheel} im virtuellen Modus (1 ms pro Tick).
+ */
+class TimingWheelTest {
+
+    private static final long MS = 1_000_000L;
+
+    private TimingWheel wheel;
+    private TimingWheel.Group group;
+    private final List<String> fired = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        wheel = TimingWheel.virtual();
+        group = wheel.createGroup();
+    }
+
+    private TimingWheel.Task recording(String name) {
+        return TimingWheel.task(() -> fired.add(name));
+    }
+
+    @Test
+    void firesOneShotTaskAtItsDueTime() {
+        TimingWheel.Task task = recording("a");
+        group.schedule(task, 50 * MS);
+
+        wheel.advanceBy(49 * MS);
+        assertTrue(fired.isEmpty());
+        assertTrue(task.isScheduled());
+
+        wheel.advanceBy(MS);
+        assertEquals(List.of("a"), fired);
+        assertFalse(task.isScheduled());
+
+        wheel.advanceBy(1000 * MS);
+        assertEquals(List.of("a"), fired);
+    }
+
+    @Test
+    void cascadesLongDelaysThroughHigherLevels() {
+        group.schedule(recording("late"), 10_000 * MS);
+
+        wheel.advanceBy(9_999 * MS);
+        assertTrue(fired.isEmpty());
+        wheel.advanceBy(MS);
+        assertEquals(List.of("late"), fired);
+    }
+
+    @Test
+    void cancelInsideCallbackSkipsTaskInSameSlot() {
+        TimingWheel.Task[] tasks = new TimingWheel.Task[2];
+        for (int i = 0; i < 2; i++) {
+            int other = 1 - i;
+            String name = "t" + i;
+            tasks[i] = TimingWheel.task(() -> {
+                fired.add(name);
+                group.cancel(tasks[other]);
+            });
+        }
+        group.schedule(tasks[0], 5 * MS);
+        group.schedule(tasks[1], 5 * MS);
+
+        wheel.advanceBy(5 * MS);
+        assertEquals(1, fired.size());
+        assertFalse(tasks[0].isScheduled());
+        assertFalse(tasks[1].isScheduled());
+
+        // Zählung der eingeplanten Aufgaben ist noch stimmig: spätere Aufgaben laufen
+        group.schedule(recording("after"), 3 * MS);
+        wheel.advanceBy(3 * MS);
+        assertEquals(2, fired.size());
+        assertEquals("after", fired.get(1));
+    }
+
+    @Test
+    void cancelledPeriodicTaskDoesNotRestartFromSameSlot() {
+        // Wie GameTimer-Tick und Verdeck-Pause: die Pause beendet das Spiel und stoppt den Tick
+        TimingWheel.Task tick = recording("tick");
+        group.scheduleAtFixedRate(tick, 5 * MS);
+        TimingWheel.Task turnDelay = TimingWheel.task(() -> {
+            fired.add("turn");
+            group.cancel(tick);
+        });
+        group.schedule(turnDelay, 5 * MS);
+
+        wheel.advanceBy(5 * MS);
+        assertTrue(fired.contains("turn"));
+        assertFalse(tick.isScheduled());
+
+        // Eine weitere Aufgabe hält das Wheel in Gang, damit ein fälschlich neu
+        // eingeplanter Tick auch wirklich auffallen würde
+        long ticks = fired.stream().filter("tick"::equals).count();
+        group.schedule(recording("later"), 50 * MS);
+        wheel.advanceBy(100 * MS);
+        assertEquals(ticks, fired.stream().filter("tick"::equals).count());
+        assertEquals("later", fired.get(fired.size() - 1));
+    }
+
+    @Test
+    void rescheduleInsideCallbackMovesTaskInSameSlot() {
+        TimingWheel.Task moved = recording("moved");
+        TimingWheel.Task mover = TimingWheel.task(() -> {
+            fired.add("mover");
+            group.schedule(moved, 10 * MS);
+        });
+        TimingWheel.Task elsewhere = recording("elsewhere");
+        group.schedule(moved, 5 * MS);
+        group.schedule(mover, 5 * MS);
+        group.schedule(elsewhere, 7 * MS);
+
+        wheel.advanceBy(5 * MS);
+        // Je nach Reihenfolge im Slot lief "moved" schon oder ist jetzt 10 ms später dran
+        boolean movedFirst = fired.get(0).equals("moved");
+        assertTrue(fired.contains("mover"));
+
+        wheel.advanceBy(2 * MS);
+        assertTrue(fired.contains("elsewhere"));
+
+        wheel.advanceBy(8 * MS);
+        long movedCount = fired.stream().filter("moved"::equals).count();
+        assertEquals(movedFirst ? 2 : 1, movedCount);
+        assertFalse(moved.isScheduled());
+    }
+
+    @Test
+    void periodicTaskFiresEveryPeriodUntilCancelled() {
+        TimingWheel.Task tick = recording("tick");
+        group.scheduleAtFixedRate(tick, 100 * MS);
+
+        wheel.advanceBy(1000 * MS);
+        assertEquals(10, fired.size());
+        assertTrue(tick.isScheduled());
+
+        group.cancel(tick);
+        wheel.advanceBy(1000 * MS);
+        assertEquals(10, fired.size());
+        assertFalse(tick.isScheduled());
+    }
+
+    @Test
+    void pauseHoldsTasksAndResumeKeepsRemainingTime() {
+        group.schedule(recording("a"), 50 * MS);
+        wheel.advanceBy(20 * MS);
+
+        group.pause();
+        assertTrue(group.isPaused());
+        long groupTime = group.nanoTime();
+        wheel.advanceBy(1000 * MS);
+        assertTrue(fired.isEmpty());
+        assertEquals(groupTime, group.nanoTime());
+
+        group.resume();
+        wheel.advanceBy(29 * MS);
+        assertTrue(fired.isEmpty());
+        wheel.advanceBy(MS);
+        assertEquals(List.of("a"), fired);
+    }
+
+    @Test
+    void pausedGroupDoesNotDelayOtherGroups() {
+        TimingWheel.Group other = wheel.createGroup();
+        group.schedule(recording("paused"), 10 * MS);
+        other.schedule(recording("running"), 10 * MS);
+        group.pause();
+
+        wheel.advanceBy(10 * MS);
+        assertEquals(List.of("running"), fired);
+
+        group.resume();
+        wheel.advanceBy(10 * MS);
+        assertEquals(List.of("running", "paused"), fired);
+    }
+
+    @Test
+    void cancelWhilePausedDropsHeldTask() {
+        TimingWheel.Task task = recording("a");
+        group.schedule(task, 10 * MS);
+        group.pause();
+        wheel.advanceBy(20 * MS);
+        group.cancel(task);
+        group.resume();
+
+        wheel.advanceBy(100 * MS);
+        assertTrue(fired.isEmpty());
+        assertFalse(task.isScheduled());
+    }
+}